@@ -5,6 +5,7 @@ import org.apache.tools.ant.filters.ReplaceTokens
 plugins {
     `java-library`
     alias(libs.plugins.maven.publish.base)
+    alias(libs.plugins.jmh)
 }
 
 base {
@@ -25,6 +26,17 @@ dependencies {
 
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.0-M1")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.11.0-M1")
+
+    jmh(libs.lavaplayer.v1)
+}
+
+// Run with ./gradlew :common:jmh, -PjmhIncludes=<regex> runs only the matching benchmarks.
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    // For the recorded responses in the test resources.
+    includeTests = true
+    includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf())
 }
 
 mavenPublishing {
@@ -42,4 +54,10 @@ tasks {
     test {
         useJUnitPlatform() // Enable JUnit Platform for running JUnit 5 tests
     }
+    register<JavaExec>("recordResponses") {
+        description = "Records the innertube responses read by the tests and benchmarks, see ResponseRecorder."
+        classpath = sourceSets.test.get().runtimeClasspath
+        mainClass = "ResponseRecorder"
+        systemProperty("responses.directory", file("src/test/resources/responses").path)
+    }
 }
@@ -0,0 +1,37 @@
+package dev.lavalink.youtube;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The innertube responses recorded into the test resources by the ResponseRecorder test utility.
+ */
+public class RecordedResponses {
+    /**
+     * @param name The name of the response: player, search, playlist or mix.
+     * @return The response body as it was received.
+     */
+    @NotNull
+    public static byte[] read(@NotNull String name) throws IOException {
+        InputStream input = RecordedResponses.class.getResourceAsStream("/responses/" + name + ".json");
+
+        if (input == null) {
+            throw new IllegalStateException("No recorded " + name + " response, record it with ./gradlew :common:recordResponses");
+        }
+
+        try (InputStream stream = input) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package dev.lavalink.youtube.clients.skeleton;
+
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import dev.lavalink.youtube.RecordedResponses;
+import dev.lavalink.youtube.json.JsonSelection;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading recorded innertube responses with the selections of {@link NonMusicClient} straight from the stream,
+ * against buffering the whole response into a string and parsing all of it, as was done before. The gc profiler
+ * shows the bytes allocated per response by each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+    @Param({ "player", "search", "playlist", "mix" })
+    public String response;
+
+    private byte[] data;
+    private JsonSelection selection;
+
+    @Setup
+    public void setUp() throws IOException {
+        data = RecordedResponses.read(response);
+
+        switch (response) {
+            case "player":
+                selection = NonMusicClient.PLAYER_RESPONSE_SELECTION;
+                break;
+            case "search":
+                selection = NonMusicClient.SEARCH_RESPONSE_SELECTION;
+                break;
+            case "playlist":
+                selection = NonMusicClient.BROWSE_RESPONSE_SELECTION;
+                break;
+            default:
+                selection = NonMusicClient.MIX_RESPONSE_SELECTION;
+                break;
+        }
+    }
+
+    @Benchmark
+    public JsonBrowser selectFromStream() throws IOException {
+        return selection.read(new ByteArrayInputStream(data));
+    }
+
+    @Benchmark
+    public JsonBrowser parseString() throws IOException {
+        // The entity stands in for the response entity, with the content type YouTube sends.
+        return JsonBrowser.parse(EntityUtils.toString(new ByteArrayEntity(data, ContentType.APPLICATION_JSON)));
+    }
+}
@@ -0,0 +1,108 @@
+package dev.lavalink.youtube.json;
+
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import dev.lavalink.youtube.RecordedResponses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the renderers the web client reads in recorded responses with compiled {@link JsonPath}s, against the
+ * chains of {@link JsonBrowser#get(String)} calls the client used before. The gc profiler shows the allocations
+ * of each, the chains allocate a browser for every step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPathBenchmark {
+    private static final JsonPath SEARCH_RESULTS_PATH = JsonPath.compile("contents.twoColumnSearchResultsRenderer.primaryContents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].videoRenderer");
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("metadata.playlistMetadataRenderer.title");
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.twoColumnBrowseResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[0].itemSectionRenderer.contents[0].playlistVideoListRenderer");
+    private static final JsonPath MIX_PLAYLIST_PATH = JsonPath.compile("contents.twoColumnWatchNextResults.playlist.playlist");
+    private static final JsonPath MIX_VIDEOS_PATH = JsonPath.compile("contents[*].playlistPanelVideoRenderer");
+
+    @Param({ "search", "playlist", "mix" })
+    public String response;
+
+    private JsonBrowser json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = JsonBrowser.parse(new ByteArrayInputStream(RecordedResponses.read(response)));
+    }
+
+    @Benchmark
+    public void paths(Blackhole blackhole) {
+        switch (response) {
+            case "search":
+                consumeAll(blackhole, SEARCH_RESULTS_PATH.getAll(json));
+                break;
+            case "playlist":
+                blackhole.consume(PLAYLIST_NAME_PATH.text(json));
+                blackhole.consume(PLAYLIST_VIDEO_LIST_PATH.get(json));
+                break;
+            default:
+                JsonBrowser playlist = MIX_PLAYLIST_PATH.get(json);
+                blackhole.consume(playlist.get("title").text());
+                consumeAll(blackhole, MIX_VIDEOS_PATH.getAll(playlist));
+                break;
+        }
+    }
+
+    @Benchmark
+    public void chains(Blackhole blackhole) {
+        switch (response) {
+            case "search":
+                for (JsonBrowser section : json.get("contents").get("twoColumnSearchResultsRenderer").get("primaryContents")
+                    .get("sectionListRenderer").get("contents").values()) {
+                    for (JsonBrowser item : section.get("itemSectionRenderer").get("contents").values()) {
+                        consumePresent(blackhole, item.get("videoRenderer"));
+                    }
+                }
+                break;
+            case "playlist":
+                blackhole.consume(json.get("metadata").get("playlistMetadataRenderer").get("title").text());
+                blackhole.consume(json.get("contents").get("twoColumnBrowseResultsRenderer").get("tabs").index(0)
+                    .get("tabRenderer").get("content").get("sectionListRenderer").get("contents").index(0)
+                    .get("itemSectionRenderer").get("contents").index(0).get("playlistVideoListRenderer"));
+                break;
+            default:
+                JsonBrowser playlist = json.get("contents").get("twoColumnWatchNextResults").get("playlist").get("playlist");
+                blackhole.consume(playlist.get("title").text());
+
+                for (JsonBrowser item : playlist.get("contents").values()) {
+                    consumePresent(blackhole, item.get("playlistPanelVideoRenderer"));
+                }
+                break;
+        }
+    }
+
+    private static void consumeAll(Blackhole blackhole, List<JsonBrowser> values) {
+        for (JsonBrowser value : values) {
+            blackhole.consume(value);
+        }
+    }
+
+    private static void consumePresent(Blackhole blackhole, JsonBrowser value) {
+        if (!value.isNull()) {
+            blackhole.consume(value);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.lavalink.youtube.track.live;
+
+import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the sequence headers of a live segment with {@link EventMessageHeaders}, against decoding the event
+ * message into a string and extracting them with {@link DataFormatTools#extractBetween}, as was done before.
+ * The gc profiler shows the allocations per segment of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMessageHeadersBenchmark {
+    // The headers of a segment of a live stream, in the order YouTube sends them.
+    private final byte[] message = ("Sequence-Number: 2734851\r\n"
+        + "Ingestion-Walltime-Us: 1718022463311227\r\n"
+        + "Ingestion-Uncertainty-Us: 77\r\n"
+        + "Capture-Walltime-Us: 1718022458206112\r\n"
+        + "Stream-Duration-Us: 13674255011000\r\n"
+        + "Max-Dvr-Duration-Us: 43200000000\r\n"
+        + "Target-Duration-Us: 5000000\r\n"
+        + "First-Frame-Time-Us: 1718022463416559\r\n"
+        + "First-Frame-Uncertainty-Us: 106\r\n"
+        + "Finally-Ingested-Segment-Sequence-Number: 2734851\r\n"
+        + "Stream-Finished: F\r\n"
+        + "Encoding-Alias: L1_BA\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    @Benchmark
+    public void readBytes(Blackhole blackhole) {
+        long sequence = EventMessageHeaders.getSequenceNumber(message);
+        long durationUs = EventMessageHeaders.getTargetDurationUs(message);
+
+        if (sequence != EventMessageHeaders.MISSING && durationUs != EventMessageHeaders.MISSING) {
+            blackhole.consume(sequence);
+            blackhole.consume(TimeUnit.MICROSECONDS.toMillis(durationUs));
+        }
+    }
+
+    @Benchmark
+    public void decodeString(Blackhole blackhole) {
+        String text = new String(message, StandardCharsets.UTF_8);
+        String sequence = DataFormatTools.extractBetween(text, "Sequence-Number: ", "\r\n");
+        String duration = DataFormatTools.extractBetween(text, "Target-Duration-Us: ", "\r\n");
+
+        if (sequence != null && duration != null) {
+            // Boxed, like the values of the sequence holder it was returned in.
+            blackhole.consume(Long.valueOf(Long.parseLong(sequence)));
+            blackhole.consume(Long.valueOf(TimeUnit.MICROSECONDS.toMillis(Long.parseLong(duration))));
+        }
+    }
+}
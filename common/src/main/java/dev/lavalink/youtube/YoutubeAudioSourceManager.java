@@ -8,11 +8,14 @@ import com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.SimpleHttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import dev.lavalink.youtube.UrlTools.UrlInfo;
+import dev.lavalink.youtube.cache.AudioFileCache;
+import dev.lavalink.youtube.cache.TieredByteCache;
 import dev.lavalink.youtube.cipher.SignatureCipherManager;
 import dev.lavalink.youtube.clients.*;
 import dev.lavalink.youtube.clients.skeleton.Client;
@@ -20,6 +23,15 @@ import dev.lavalink.youtube.http.YoutubeAccessTokenTracker;
 import dev.lavalink.youtube.http.YoutubeHttpContextFilter;
 import dev.lavalink.youtube.http.YoutubeOauth2Handler;
 import dev.lavalink.youtube.http.YoutubeProxyHandler;
+import dev.lavalink.youtube.polyfill.DaemonThreadFactory;
+import dev.lavalink.youtube.polyfill.VirtualThreads;
+import dev.lavalink.youtube.track.MirrorHealthTracker;
+import dev.lavalink.youtube.track.PlayerScriptThrottleTracker;
+import dev.lavalink.youtube.track.SharedChunkHub;
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
+import dev.lavalink.youtube.track.format.LoadAwareFormatSelectionPolicy;
+import dev.lavalink.youtube.track.live.LiveSegmentCache;
+import dev.lavalink.youtube.track.live.LiveSegmentHub;
 import dev.lavalink.youtube.track.YoutubeAudioTrack;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -32,8 +44,17 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +67,8 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
     // TODO(music): scrape config? it's identical to WEB.
 
     private static final Logger log = LoggerFactory.getLogger(YoutubeAudioSourceManager.class);
+    // Without virtual threads, renewals beyond this many at once are queued rather than each getting a platform thread.
+    private static final int MAX_RENEWAL_THREADS = 16;
     public static final String SEARCH_PREFIX = "ytsearch:";
     public static final String MUSIC_SEARCH_PREFIX = "ytmsearch:";
 
@@ -61,16 +84,34 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
     private static final Pattern shortHandPattern = Pattern.compile("^" + PROTOCOL_REGEX + "(?:" + DOMAIN_REGEX + "/(?:live|embed|shorts)|" + SHORT_DOMAIN_REGEX + ")/(?<videoId>.*)");
 
     protected final HttpInterfaceManager httpInterfaceManager;
+    protected final ScheduledExecutorService backgroundExecutor;
+    protected final ExecutorService liveStreamExecutor;
+    protected final ExecutorService renewalExecutor;
+    protected final boolean ownsRenewalExecutor;
 
     protected final boolean allowSearch;
     protected final boolean allowDirectVideoIds;
     protected final boolean allowDirectPlaylistIds;
+    protected final int playbackFailoverAttempts;
+    protected final int liveSegmentPrefetchDepth;
+    protected final boolean lowLatencyLiveStreams;
+    protected final boolean throttleRecovery;
+    protected final int hlsLiveStreamParallelism;
+    protected final FormatSelectionPolicy formatSelectionPolicy;
+    protected final AtomicInteger activePlaybacks = new AtomicInteger();
     protected final Client[] clients;
 
     protected YoutubeHttpContextFilter contextFilter;
     protected YoutubeOauth2Handler oauth2Handler;
     protected SignatureCipherManager cipherManager;
     protected YoutubeProxyHandler proxyHandler;
+    protected MirrorHealthTracker mirrorHealthTracker;
+    protected PlayerScriptThrottleTracker playerScriptThrottleTracker;
+    protected LiveSegmentHub liveSegmentHub;
+    protected LiveSegmentCache liveSegmentCache;
+    protected TieredByteCache formatHeaderCache;
+    protected AudioFileCache audioFileCache;
+    protected SharedChunkHub sharedChunkHub;
 
     public YoutubeAudioSourceManager() {
         this(true);
@@ -81,8 +122,22 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
     }
 
     public YoutubeAudioSourceManager(boolean allowSearch, boolean allowDirectVideoIds, boolean allowDirectPlaylistIds) {
+        this(
+            new YoutubeSourceOptions()
+                .setAllowSearch(allowSearch)
+                .setAllowDirectVideoIds(allowDirectVideoIds)
+                .setAllowDirectPlaylistIds(allowDirectPlaylistIds)
+        );
+    }
+
+    /**
+     * Construct an instance of YoutubeAudioSourceManager with the given options
+     * and the default clients.
+     * @param options The options for this source.
+     */
+    public YoutubeAudioSourceManager(@NotNull YoutubeSourceOptions options) {
         // query order: music -> web -> androidtestsuite -> tvhtml5embedded
-        this(allowSearch, allowDirectVideoIds, allowDirectPlaylistIds, new Music(), new AndroidVr(), new Web(), new WebEmbedded());
+        this(options, new Music(), new AndroidVr(), new Web(), new WebEmbedded());
     }
 
     /**
@@ -134,15 +189,36 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
 
     public YoutubeAudioSourceManager(YoutubeSourceOptions options,
                                      @NotNull Client... clients) {
-        this.httpInterfaceManager = HttpClientTools.createCookielessThreadLocalManager();
+        boolean virtualThreads = options.isVirtualThreads() && VirtualThreads.isAvailable();
+
+        this.httpInterfaceManager = createHttpInterfaceManager(virtualThreads);
         this.proxyHandler = new YoutubeProxyHandler(httpInterfaceManager);
+        this.backgroundExecutor = Executors.newScheduledThreadPool(1, new DaemonThreadFactory("youtube-background"));
+        this.liveStreamExecutor = createExecutor(virtualThreads, "youtube-live-stream", 0);
+        this.ownsRenewalExecutor = options.getRenewalExecutor() == null;
+        this.renewalExecutor = ownsRenewalExecutor
+            ? createExecutor(virtualThreads, "youtube-renewal", MAX_RENEWAL_THREADS)
+            : options.getRenewalExecutor();
 
         this.allowSearch = options.isAllowSearch();
         this.allowDirectVideoIds = options.isAllowDirectVideoIds();
         this.allowDirectPlaylistIds = options.isAllowDirectPlaylistIds();
+        this.playbackFailoverAttempts = options.getPlaybackFailoverAttempts();
+        this.liveSegmentPrefetchDepth = options.getLiveSegmentPrefetchDepth();
+        this.lowLatencyLiveStreams = options.isLowLatencyLiveStreams();
+        this.throttleRecovery = options.isThrottleRecovery();
+        this.hlsLiveStreamParallelism = options.getHlsLiveStreamParallelism();
+        this.formatSelectionPolicy = createFormatSelectionPolicy(options);
         this.clients = clients;
         this.cipherManager = new SignatureCipherManager();
         this.oauth2Handler = new YoutubeOauth2Handler(httpInterfaceManager);
+        this.mirrorHealthTracker = new MirrorHealthTracker();
+        this.playerScriptThrottleTracker = new PlayerScriptThrottleTracker();
+        this.liveSegmentHub = options.isShareLiveSegments() ? new LiveSegmentHub() : null;
+        this.liveSegmentCache = createLiveSegmentCache(options);
+        this.formatHeaderCache = createFormatHeaderCache(options);
+        this.audioFileCache = createAudioFileCache(options);
+        this.sharedChunkHub = options.getSharedChunkMemoryBytes() > 0 ? new SharedChunkHub(options.getSharedChunkMemoryBytes()) : null;
 
         contextFilter = new YoutubeHttpContextFilter();
         contextFilter.setTokenTracker(new YoutubeAccessTokenTracker(httpInterfaceManager));
@@ -151,6 +227,109 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
         httpInterfaceManager.setHttpContextFilter(contextFilter);
     }
 
+    @NotNull
+    private static HttpInterfaceManager createHttpInterfaceManager(boolean virtualThreads) {
+        if (!virtualThreads) {
+            return HttpClientTools.createCookielessThreadLocalManager();
+        }
+
+        // The thread-local manager keeps a context for every thread that makes a request, which would grow
+        // without bound with a new virtual thread per task. Contexts are created per interface instead.
+        return new SimpleHttpInterfaceManager(
+            HttpClientTools.createSharedCookiesHttpBuilder().disableCookieManagement(),
+            HttpClientTools.DEFAULT_REQUEST_CONFIG
+        );
+    }
+
+    /**
+     * @param maxThreads The maximum number of platform threads, further tasks are queued. 0 for no limit.
+     */
+    @NotNull
+    private static ExecutorService createExecutor(boolean virtualThreads, String name, int maxThreads) {
+        ExecutorService executor = virtualThreads ? VirtualThreads.newThreadPerTaskExecutor() : null;
+
+        if (executor != null) {
+            return executor;
+        } else if (maxThreads <= 0) {
+            return Executors.newCachedThreadPool(new DaemonThreadFactory(name));
+        }
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new DaemonThreadFactory(name));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @NotNull
+    private FormatSelectionPolicy createFormatSelectionPolicy(YoutubeSourceOptions options) {
+        if (!options.isFormatDownshift()) {
+            return options.getFormatSelectionPolicy();
+        }
+
+        DoubleSupplier load = options.getFormatDownshiftLoad();
+
+        return new LoadAwareFormatSelectionPolicy(
+            options.getFormatSelectionPolicy(),
+            load != null ? load : activePlaybacks::get,
+            options.getFormatDownshiftHighWatermark(),
+            options.getFormatDownshiftLowWatermark()
+        );
+    }
+
+    @Nullable
+    private static LiveSegmentCache createLiveSegmentCache(YoutubeSourceOptions options) {
+        long memoryBytes = options.getLiveSegmentCacheMemoryBytes();
+        Path directory = options.getLiveSegmentCacheDirectory();
+
+        if (memoryBytes <= 0) {
+            return null;
+        } else if (directory == null) {
+            return new LiveSegmentCache(memoryBytes);
+        }
+
+        try {
+            return new LiveSegmentCache(memoryBytes, directory, options.getLiveSegmentCacheDiskBytes());
+        } catch (IOException e) {
+            log.warn("Unable to use {} for the live segment cache, segments will only be cached in memory.", directory, e);
+            return new LiveSegmentCache(memoryBytes);
+        }
+    }
+
+    @Nullable
+    private static TieredByteCache createFormatHeaderCache(YoutubeSourceOptions options) {
+        long memoryBytes = options.getFormatHeaderCacheMemoryBytes();
+        Path directory = options.getFormatHeaderCacheDirectory();
+
+        if (memoryBytes <= 0) {
+            return null;
+        } else if (directory == null) {
+            return new TieredByteCache(memoryBytes);
+        }
+
+        try {
+            return new TieredByteCache(memoryBytes, directory, options.getFormatHeaderCacheDiskBytes(), ".idx", true);
+        } catch (IOException e) {
+            log.warn("Unable to use {} for the format header cache, headers will only be cached in memory.", directory, e);
+            return new TieredByteCache(memoryBytes);
+        }
+    }
+
+    @Nullable
+    private static AudioFileCache createAudioFileCache(YoutubeSourceOptions options) {
+        Path directory = options.getAudioFileCacheDirectory();
+
+        if (directory == null || options.getAudioFileCacheBytes() <= 0) {
+            return null;
+        }
+
+        try {
+            return new AudioFileCache(directory, options.getAudioFileCacheBytes(), options.getAudioFileCacheAdmissionPlays());
+        } catch (IOException e) {
+            log.warn("Unable to use {} for the audio file cache, it will be disabled.", directory, e);
+            return null;
+        }
+    }
+
     @Override
     public String getSourceName() {
         return "youtube";
@@ -376,6 +555,60 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
         return proxyHandler;
     }
 
+    @NotNull
+    public MirrorHealthTracker getMirrorHealthTracker() {
+        return mirrorHealthTracker;
+    }
+
+    /**
+     * @return The tracker of player scripts that produced throttled stream URLs.
+     */
+    @NotNull
+    public PlayerScriptThrottleTracker getPlayerScriptThrottleTracker() {
+        return playerScriptThrottleTracker;
+    }
+
+    /**
+     * @return The hub through which livestream segments are shared between tracks, or null if
+     *         segment sharing is disabled.
+     */
+    @Nullable
+    public LiveSegmentHub getLiveSegmentHub() {
+        return liveSegmentHub;
+    }
+
+    /**
+     * @return The cache of recently played livestream segments, or null if it is disabled.
+     */
+    @Nullable
+    public LiveSegmentCache getLiveSegmentCache() {
+        return liveSegmentCache;
+    }
+
+    /**
+     * @return The cache of format headers and seek indexes, or null if it is disabled.
+     */
+    @Nullable
+    public TieredByteCache getFormatHeaderCache() {
+        return formatHeaderCache;
+    }
+
+    /**
+     * @return The disk cache of the audio of frequently played tracks, or null if it is disabled.
+     */
+    @Nullable
+    public AudioFileCache getAudioFileCache() {
+        return audioFileCache;
+    }
+
+    /**
+     * @return The hub sharing downloaded chunks between tracks playing the same format, or null if it is disabled.
+     */
+    @Nullable
+    public SharedChunkHub getSharedChunkHub() {
+        return sharedChunkHub;
+    }
+
     /**
      * Returns a client by the given type, if registered.
      * @param cls The class of the client to return.
@@ -392,6 +625,66 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
         return null;
     }
 
+    /**
+     * @return The maximum number of position-preserving failovers per track. {@code 0} if disabled.
+     */
+    public int getPlaybackFailoverAttempts() {
+        return playbackFailoverAttempts;
+    }
+
+    /**
+     * @return The number of livestream segments fetched ahead of the one being played. {@code 0} if disabled.
+     */
+    public int getLiveSegmentPrefetchDepth() {
+        return liveSegmentPrefetchDepth;
+    }
+
+    /**
+     * @return Whether livestreams poll for segments in low-latency mode.
+     */
+    public boolean isLowLatencyLiveStreams() {
+        return lowLatencyLiveStreams;
+    }
+
+    /**
+     * @return Whether the URLs of throttled streams are re-resolved.
+     */
+    public boolean isThrottleRecovery() {
+        return throttleRecovery;
+    }
+
+    /**
+     * @return The number of parallel segment downloads for livestreams played from their HLS manifest.
+     *         {@code 0} if HLS playback is disabled.
+     */
+    public int getHlsLiveStreamParallelism() {
+        return hlsLiveStreamParallelism;
+    }
+
+    @NotNull
+    public FormatSelectionPolicy getFormatSelectionPolicy() {
+        return formatSelectionPolicy;
+    }
+
+    /**
+     * @return The number of tracks from this source that are currently playing.
+     */
+    public int getActivePlaybackCount() {
+        return activePlaybacks.get();
+    }
+
+    /**
+     * Keeps count of the tracks from this source that are currently playing, called by {@link YoutubeAudioTrack}
+     * when playback starts ({@code true}) and ends ({@code false}).
+     */
+    public void trackPlayback(boolean started) {
+        if (started) {
+            activePlaybacks.incrementAndGet();
+        } else {
+            activePlaybacks.decrementAndGet();
+        }
+    }
+
     @NotNull
     public Client[] getClients() {
         return clients;
@@ -417,6 +710,32 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
         return httpInterfaceManager.getInterface();
     }
 
+    /**
+     * @return The executor used for background work related to playback, such as renewing
+     *         stream URLs before they expire.
+     */
+    @NotNull
+    public ScheduledExecutorService getBackgroundExecutor() {
+        return backgroundExecutor;
+    }
+
+    /**
+     * @return The executor used for renewing the stream URLs of playing tracks and re-resolving throttled streams.
+     */
+    @NotNull
+    public ExecutorService getRenewalExecutor() {
+        return renewalExecutor;
+    }
+
+    /**
+     * @return The executor used for livestream requests made off the playback thread, such as segment
+     *         prefetching and sequence refreshes.
+     */
+    @NotNull
+    public ExecutorService getLiveStreamExecutor() {
+        return liveStreamExecutor;
+    }
+
     @Override
     public boolean isTrackEncodable(AudioTrack track) {
         return true;
@@ -435,7 +754,26 @@ public class YoutubeAudioSourceManager implements AudioSourceManager {
 
     @Override
     public void shutdown() {
+        backgroundExecutor.shutdownNow();
+        liveStreamExecutor.shutdownNow();
+
+        if (ownsRenewalExecutor) {
+            renewalExecutor.shutdownNow();
+        }
+
         ExceptionTools.closeWithWarnings(httpInterfaceManager);
+
+        if (liveSegmentCache != null) {
+            ExceptionTools.closeWithWarnings(liveSegmentCache);
+        }
+
+        if (formatHeaderCache != null) {
+            ExceptionTools.closeWithWarnings(formatHeaderCache);
+        }
+
+        if (audioFileCache != null) {
+            ExceptionTools.closeWithWarnings(audioFileCache);
+        }
     }
 
     @FunctionalInterface
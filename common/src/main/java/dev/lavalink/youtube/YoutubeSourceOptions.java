@@ -1,9 +1,42 @@
 package dev.lavalink.youtube;
 
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
+import dev.lavalink.youtube.track.live.HlsSegmentStream;
+import dev.lavalink.youtube.track.live.SegmentPrefetcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.function.DoubleSupplier;
+
 public class YoutubeSourceOptions {
     private boolean allowSearch = true;
     private boolean allowDirectVideoIds = true;
     private boolean allowDirectPlaylistIds = true;
+    private int playbackFailoverAttempts = 0;
+    private boolean shareLiveSegments = false;
+    private int liveSegmentPrefetchDepth = 0;
+    private boolean lowLatencyLiveStreams = false;
+    private int hlsLiveStreamParallelism = 0;
+    private long liveSegmentCacheMemoryBytes = 0;
+    private Path liveSegmentCacheDirectory = null;
+    private long liveSegmentCacheDiskBytes = 0;
+    private long formatHeaderCacheMemoryBytes = 0;
+    private Path formatHeaderCacheDirectory = null;
+    private long formatHeaderCacheDiskBytes = 0;
+    private Path audioFileCacheDirectory = null;
+    private long audioFileCacheBytes = 0;
+    private int audioFileCacheAdmissionPlays = 2;
+    private long sharedChunkMemoryBytes = 0;
+    private boolean throttleRecovery = false;
+    private boolean virtualThreads = false;
+    private ExecutorService renewalExecutor = null;
+    private FormatSelectionPolicy formatSelectionPolicy = FormatSelectionPolicy.DEFAULT;
+    private boolean formatDownshift = false;
+    private DoubleSupplier formatDownshiftLoad = null;
+    private double formatDownshiftHighWatermark = 0;
+    private double formatDownshiftLowWatermark = 0;
 
     public boolean isAllowSearch() {
         return allowSearch;
@@ -17,6 +50,103 @@ public class YoutubeSourceOptions {
         return allowDirectPlaylistIds;
     }
 
+    public int getPlaybackFailoverAttempts() {
+        return playbackFailoverAttempts;
+    }
+
+    public boolean isShareLiveSegments() {
+        return shareLiveSegments;
+    }
+
+    public int getLiveSegmentPrefetchDepth() {
+        return liveSegmentPrefetchDepth;
+    }
+
+    public boolean isLowLatencyLiveStreams() {
+        return lowLatencyLiveStreams;
+    }
+
+    public int getHlsLiveStreamParallelism() {
+        return hlsLiveStreamParallelism;
+    }
+
+    public long getLiveSegmentCacheMemoryBytes() {
+        return liveSegmentCacheMemoryBytes;
+    }
+
+    @Nullable
+    public Path getLiveSegmentCacheDirectory() {
+        return liveSegmentCacheDirectory;
+    }
+
+    public long getLiveSegmentCacheDiskBytes() {
+        return liveSegmentCacheDiskBytes;
+    }
+
+    public long getFormatHeaderCacheMemoryBytes() {
+        return formatHeaderCacheMemoryBytes;
+    }
+
+    @Nullable
+    public Path getFormatHeaderCacheDirectory() {
+        return formatHeaderCacheDirectory;
+    }
+
+    public long getFormatHeaderCacheDiskBytes() {
+        return formatHeaderCacheDiskBytes;
+    }
+
+    @Nullable
+    public Path getAudioFileCacheDirectory() {
+        return audioFileCacheDirectory;
+    }
+
+    public long getAudioFileCacheBytes() {
+        return audioFileCacheBytes;
+    }
+
+    public int getAudioFileCacheAdmissionPlays() {
+        return audioFileCacheAdmissionPlays;
+    }
+
+    public long getSharedChunkMemoryBytes() {
+        return sharedChunkMemoryBytes;
+    }
+
+    public boolean isThrottleRecovery() {
+        return throttleRecovery;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ExecutorService getRenewalExecutor() {
+        return renewalExecutor;
+    }
+
+    @NotNull
+    public FormatSelectionPolicy getFormatSelectionPolicy() {
+        return formatSelectionPolicy;
+    }
+
+    public boolean isFormatDownshift() {
+        return formatDownshift;
+    }
+
+    @Nullable
+    public DoubleSupplier getFormatDownshiftLoad() {
+        return formatDownshiftLoad;
+    }
+
+    public double getFormatDownshiftHighWatermark() {
+        return formatDownshiftHighWatermark;
+    }
+
+    public double getFormatDownshiftLowWatermark() {
+        return formatDownshiftLowWatermark;
+    }
+
     public YoutubeSourceOptions setAllowSearch(boolean allowSearch) {
         this.allowSearch = allowSearch;
         return this;
@@ -31,4 +161,209 @@ public class YoutubeSourceOptions {
         this.allowDirectPlaylistIds = allowDirectPlaylistIds;
         return this;
     }
+
+    /**
+     * Enables position-preserving failover for playback. When a stream fails after playback has started,
+     * a fresh URL is resolved (first from the same client, then from the next ones) and playback resumes
+     * from the position it had reached, instead of restarting or ending the track.
+     * @param playbackFailoverAttempts The maximum number of failovers per track. {@code 0} disables failover.
+     */
+    public YoutubeSourceOptions setPlaybackFailoverAttempts(int playbackFailoverAttempts) {
+        this.playbackFailoverAttempts = playbackFailoverAttempts;
+        return this;
+    }
+
+    /**
+     * Whether tracks playing the same livestream should share segment downloads. When enabled, each
+     * segment is fetched from YouTube once per node and handed to every track that is playing it.
+     * Disabled by default.
+     * @param shareLiveSegments Whether to share livestream segments between tracks.
+     */
+    public YoutubeSourceOptions setShareLiveSegments(boolean shareLiveSegments) {
+        this.shareLiveSegments = shareLiveSegments;
+        return this;
+    }
+
+    /**
+     * Enables pipelined playback of livestreams. While a segment is being decoded, the next segments
+     * are already downloaded into memory, so that playback does not stall at segment boundaries on
+     * high-latency links. Livestreams only prefetch segments behind their live edge, such as after
+     * rewinding, since the segments after the edge do not exist yet.
+     * @param liveSegmentPrefetchDepth The number of segments to fetch ahead, at most
+     *                                 {@link SegmentPrefetcher#MAX_DEPTH}. {@code 0} disables prefetching.
+     */
+    public YoutubeSourceOptions setLiveSegmentPrefetchDepth(int liveSegmentPrefetchDepth) {
+        if (liveSegmentPrefetchDepth < 0 || liveSegmentPrefetchDepth > SegmentPrefetcher.MAX_DEPTH) {
+            throw new IllegalArgumentException("Prefetch depth must be between 0 and " + SegmentPrefetcher.MAX_DEPTH);
+        }
+
+        this.liveSegmentPrefetchDepth = liveSegmentPrefetchDepth;
+        return this;
+    }
+
+    /**
+     * Makes livestreams poll for segments more aggressively once they are due, keeping playback closer to
+     * the live edge at the cost of more requests. By default, retries back off towards half of the
+     * segment duration.
+     * @param lowLatencyLiveStreams Whether to enable low-latency polling for livestreams.
+     */
+    public YoutubeSourceOptions setLowLatencyLiveStreams(boolean lowLatencyLiveStreams) {
+        this.lowLatencyLiveStreams = lowLatencyLiveStreams;
+        return this;
+    }
+
+    /**
+     * Plays livestreams from their HLS manifest instead of polling for segments by sequence number, when the
+     * player response has one with an audio-only rendition. The playlist is reloaded on the cadence it advertises
+     * and segments are downloaded ahead with bounded parallelism. Livestreams played this way cannot be seeked,
+     * so rewinding (and the live segment cache used for it) is not available for them.
+     * @param hlsLiveStreamParallelism The maximum number of segment downloads in flight per track, at most
+     *                                 {@link HlsSegmentStream#MAX_PARALLELISM}. {@code 0} disables HLS playback.
+     */
+    public YoutubeSourceOptions setHlsLiveStreamParallelism(int hlsLiveStreamParallelism) {
+        if (hlsLiveStreamParallelism < 0 || hlsLiveStreamParallelism > HlsSegmentStream.MAX_PARALLELISM) {
+            throw new IllegalArgumentException("Parallelism must be between 0 and " + HlsSegmentStream.MAX_PARALLELISM);
+        }
+
+        this.hlsLiveStreamParallelism = hlsLiveStreamParallelism;
+        return this;
+    }
+
+    /**
+     * Enables a node-wide cache of recently played livestream segments, so that rewinding within recent
+     * history is served locally instead of downloading the segments from YouTube again.
+     * @param memoryBytes The maximum total size of the segments kept in memory. {@code 0} disables the cache.
+     */
+    public YoutubeSourceOptions setLiveSegmentCacheMemoryBytes(long memoryBytes) {
+        this.liveSegmentCacheMemoryBytes = memoryBytes;
+        return this;
+    }
+
+    /**
+     * Adds a disk tier to the livestream segment cache. Segments which no longer fit in memory are moved to
+     * this directory instead of being dropped. Only has an effect when the in-memory cache is enabled.
+     * @param directory The directory to keep segments in, null to disable the disk tier. Segment files in it
+     *                  are deleted on startup and shutdown.
+     * @param maxBytes The maximum total size of the segments kept on disk.
+     */
+    public YoutubeSourceOptions setLiveSegmentCacheDisk(@Nullable Path directory, long maxBytes) {
+        this.liveSegmentCacheDirectory = directory;
+        this.liveSegmentCacheDiskBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Sets the policy deciding which format of a track is played. {@link FormatSelectionPolicy#MINIMIZE_CPU}
+     * prefers formats that can be passed through without transcoding, which saves a lot of CPU time on busy nodes.
+     * @param formatSelectionPolicy The policy to use, defaults to {@link FormatSelectionPolicy#DEFAULT}.
+     */
+    public YoutubeSourceOptions setFormatSelectionPolicy(@NotNull FormatSelectionPolicy formatSelectionPolicy) {
+        this.formatSelectionPolicy = formatSelectionPolicy;
+        return this;
+    }
+
+    /**
+     * Makes format selection pick lower bitrate variants of the selected format while the node is under load.
+     * Downshifting starts once the load reaches the high watermark, and stops once it drops to the low watermark.
+     * @param load Provides the current load, null to use the number of YouTube tracks currently playing from
+     *             this source.
+     * @param highWatermark The load at which lower bitrates start being selected.
+     * @param lowWatermark The load at which the highest bitrates are selected again.
+     */
+    public YoutubeSourceOptions setFormatDownshift(@Nullable DoubleSupplier load,
+                                                   double highWatermark,
+                                                   double lowWatermark) {
+        if (lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Low watermark must not be above the high watermark");
+        }
+
+        this.formatDownshift = true;
+        this.formatDownshiftLoad = load;
+        this.formatDownshiftHighWatermark = highWatermark;
+        this.formatDownshiftLowWatermark = lowWatermark;
+        return this;
+    }
+
+    /**
+     * Enables a node-wide cache of the container headers and seek indexes of played formats, keyed by video and
+     * itag. Replays of a track then start and seek without loading its index from YouTube again. An index
+     * is usually a few kilobytes, and does not change for the lifetime of a video.
+     * @param memoryBytes The maximum total size of the indexes kept in memory. {@code 0} disables the cache.
+     * @param directory Directory to move indexes to once they no longer fit in memory, null to drop them instead.
+     *                  Indexes on disk are kept across restarts.
+     * @param diskBytes The maximum total size of the indexes kept on disk.
+     */
+    public YoutubeSourceOptions setFormatHeaderCache(long memoryBytes, @Nullable Path directory, long diskBytes) {
+        this.formatHeaderCacheMemoryBytes = memoryBytes;
+        this.formatHeaderCacheDirectory = directory;
+        this.formatHeaderCacheDiskBytes = diskBytes;
+        return this;
+    }
+
+    /**
+     * Enables a disk cache of the audio of frequently played tracks, so that replays are read from disk instead
+     * of being downloaded from YouTube again. Partially cached tracks are completed from the network while they
+     * are played from the start.
+     * @param directory The directory to keep the files in, null to disable the cache. Files are kept across restarts.
+     * @param maxBytes The maximum total size of the cached files.
+     * @param admissionPlays How many times a track has to be played before it is cached, at least 1.
+     */
+    public YoutubeSourceOptions setAudioFileCache(@Nullable Path directory, long maxBytes, int admissionPlays) {
+        if (admissionPlays < 1) {
+            throw new IllegalArgumentException("Admission plays must be at least 1");
+        }
+
+        this.audioFileCacheDirectory = directory;
+        this.audioFileCacheBytes = maxBytes;
+        this.audioFileCacheAdmissionPlays = admissionPlays;
+        return this;
+    }
+
+    /**
+     * Makes tracks playing the same format at the same time share its downloaded chunks, so that a video played
+     * in many places at once is only downloaded once per node. Chunks are kept in memory until every track
+     * playing the format has read past them. A track that is the only one playing its format keeps reading
+     * over its own connection.
+     * @param memoryBytes The maximum total size of the chunks kept in memory. {@code 0} disables sharing.
+     */
+    public YoutubeSourceOptions setSharedChunkMemoryBytes(long memoryBytes) {
+        this.sharedChunkMemoryBytes = memoryBytes;
+        return this;
+    }
+
+    /**
+     * Watches the download rate of streams, and re-resolves the URL of a stream that YouTube throttles to
+     * around real-time speed, with a newer player script, another client or another mirror. A player script is
+     * only dropped once several streams resolved with it were throttled, or its n function failed.
+     * Disabled by default.
+     * @param throttleRecovery Whether to re-resolve throttled streams.
+     */
+    public YoutubeSourceOptions setThrottleRecovery(boolean throttleRecovery) {
+        this.throttleRecovery = throttleRecovery;
+        return this;
+    }
+
+    /**
+     * Runs the blocking work that the source starts itself (URL renewals, throttle recovery, livestream segment
+     * downloads) on virtual threads, and uses an HTTP interface manager that keeps no per-thread state, so that
+     * it does not accumulate a connection context for every virtual thread. Has no effect on runtimes older
+     * than Java 21.
+     * @param virtualThreads Whether to use virtual threads where available.
+     */
+    public YoutubeSourceOptions setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Sets the executor that renews the stream URLs of playing tracks before they expire, and re-resolves the URLs
+     * of throttled streams. Item and format loads are not run on it, they run on the thread that requests them.
+     * The executor is not shut down with the source. By default, the source uses its own executor, with virtual
+     * threads if enabled, otherwise with a bounded number of threads.
+     * @param renewalExecutor The executor to use, null for the default one.
+     */
+    public YoutubeSourceOptions setRenewalExecutor(@Nullable ExecutorService renewalExecutor) {
+        this.renewalExecutor = renewalExecutor;
+        return this;
+    }
 }
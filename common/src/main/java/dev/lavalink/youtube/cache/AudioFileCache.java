@@ -0,0 +1,340 @@
+package dev.lavalink.youtube.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk cache of the audio files of frequently played formats, keyed by video, itag and content length. Each
+ * file holds a contiguous prefix of the format, which grows while the format is played from the start, until
+ * the whole format is cached. Reads from the cached part are memory-mapped, the rest is loaded from YouTube.
+ * Files are only created once a format has been played a configurable number of times, so that tracks played
+ * once do not push popular tracks out of the cache. The least recently used files are evicted once the cache
+ * grows beyond its size limit. Cached files are kept across restarts.
+ */
+public class AudioFileCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(AudioFileCache.class);
+    private static final String FILE_SUFFIX = ".audio";
+    private static final int MAX_TRACKED_PLAYS = 4096;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int admissionPlays;
+    private final Map<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> plays = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_TRACKED_PLAYS;
+        }
+    };
+    private long totalBytes;
+
+    /**
+     * @param directory Directory to keep the files in.
+     * @param maxBytes The maximum total size of the cached files.
+     * @param admissionPlays How many times a format has to be played before it is cached, at least 1.
+     */
+    public AudioFileCache(@NotNull Path directory, long maxBytes, int admissionPlays) throws IOException {
+        if (admissionPlays < 1) {
+            throw new IllegalArgumentException("Admission plays must be at least 1");
+        }
+
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.admissionPlays = admissionPlays;
+
+        Files.createDirectories(directory);
+        loadFiles();
+    }
+
+    /**
+     * Registers a play of a format, and opens its cached copy if there is one.
+     * @param videoId The ID of the video.
+     * @param itag The itag of the format.
+     * @param contentLength The length of the format in bytes.
+     * @return The cache entry to read from and write to, must be closed once playback ends. Null if the format
+     * is not cached and should not be yet.
+     */
+    @Nullable
+    public Entry open(@NotNull String videoId, int itag, long contentLength) {
+        if (contentLength <= 0 || contentLength > maxBytes || contentLength > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        String id = videoId + "_" + itag + "_" + contentLength;
+        CachedFile file;
+        boolean writer;
+
+        synchronized (this) {
+            file = files.get(id);
+
+            if (file == null) {
+                int count = plays.merge(id, 1, Integer::sum);
+
+                if (count < admissionPlays) {
+                    return null;
+                }
+
+                plays.remove(id);
+                file = new CachedFile(directory.resolve(id + FILE_SUFFIX), contentLength);
+                files.put(id, file);
+            }
+
+            file.users++;
+            writer = !file.writing && file.size < contentLength;
+
+            if (writer) {
+                file.writing = true;
+            }
+        }
+
+        return new Entry(file, writer);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            files.clear();
+            plays.clear();
+            totalBytes = 0;
+        }
+    }
+
+    /**
+     * @return The total size of the cached files.
+     */
+    public synchronized long getUsedBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Counts bytes about to be written, evicting the least recently used files not in use to make room for them.
+     * @return False if there is no room, as the remaining files are all in use. Nothing is counted then.
+     */
+    private synchronized boolean reserve(long bytes) {
+        totalBytes += bytes;
+        evict();
+
+        if (totalBytes > maxBytes) {
+            totalBytes -= bytes;
+            return false;
+        }
+
+        return true;
+    }
+
+    private synchronized void release(long bytes) {
+        totalBytes -= bytes;
+    }
+
+    // Requires the lock on this cache, files are deleted while holding it so that open() cannot create a new file
+    // at the same path before the old one is gone.
+    private void evict() {
+        Iterator<CachedFile> iterator = files.values().iterator();
+
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            CachedFile eldest = iterator.next();
+
+            if (eldest.users == 0) {
+                totalBytes -= eldest.size;
+                iterator.remove();
+
+                try {
+                    Files.deleteIfExists(eldest.path);
+                } catch (IOException e) {
+                    log.debug("Failed to delete cached audio file {}.", eldest.path, e);
+                }
+            }
+        }
+    }
+
+    private void loadFiles() throws IOException {
+        List<Path> paths = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+
+        // Oldest first, so that they are also the first to be evicted.
+        paths.sort(Comparator.comparingLong(AudioFileCache::lastModified));
+        long loadedBytes = 0;
+
+        for (Path path : paths) {
+            String name = path.getFileName().toString();
+            String id = name.substring(0, name.length() - FILE_SUFFIX.length());
+            long contentLength;
+
+            try {
+                contentLength = Long.parseLong(id.substring(id.lastIndexOf('_') + 1));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            CachedFile file = new CachedFile(path, contentLength);
+            file.size = Math.min(Files.size(path), contentLength);
+            loadedBytes += file.size;
+
+            synchronized (this) {
+                files.put(id, file);
+            }
+        }
+
+        synchronized (this) {
+            totalBytes += loadedBytes;
+            evict();
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static class CachedFile {
+        private final Path path;
+        private final long contentLength;
+        private volatile long size;
+        private int users;
+        private boolean writing;
+
+        private CachedFile(Path path, long contentLength) {
+            this.path = path;
+            this.contentLength = contentLength;
+        }
+    }
+
+    /**
+     * An open cached copy of a format, used by one playback.
+     */
+    public class Entry implements Closeable {
+        private final CachedFile file;
+        private final boolean writer;
+        private boolean writeStopped;
+        private FileChannel channel;
+        private boolean closed;
+
+        private Entry(CachedFile file, boolean writer) {
+            this.file = file;
+            this.writer = writer;
+        }
+
+        /**
+         * @return The cached part of the format, mapped into memory, starting at position 0. Empty if nothing is
+         * cached yet.
+         */
+        @NotNull
+        public ByteBuffer getCachedPrefix() {
+            long size = file.size;
+
+            if (size == 0) {
+                return ByteBuffer.allocate(0);
+            }
+
+            try (FileChannel reader = FileChannel.open(file.path, StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed.
+                return reader.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                log.debug("Failed to map cached audio file {}.", file.path, e);
+                return ByteBuffer.allocate(0);
+            }
+        }
+
+        /**
+         * @return True if the whole format is cached.
+         */
+        public boolean isComplete() {
+            return file.size >= file.contentLength;
+        }
+
+        /**
+         * @return True if data at this position would be added to the cached copy.
+         */
+        public boolean accepts(long position) {
+            return writer && !writeStopped && position == file.size;
+        }
+
+        /**
+         * Adds data read from the network to the cached copy. Only data directly following the cached prefix is
+         * kept, so writing stops for this playback after a seek past the end of it. Writing also stops once the
+         * cache is full and every other file is in use.
+         * @param position The position of the data within the format.
+         */
+        public void write(long position, byte[] buffer, int offset, int length) {
+            if (!accepts(position) || length <= 0) {
+                return;
+            }
+
+            int count = (int) Math.min(length, file.contentLength - position);
+
+            if (!reserve(count)) {
+                log.debug("Audio file cache is full, no longer caching {}.", file.path);
+                writeStopped = true;
+                return;
+            }
+
+            try {
+                if (channel == null) {
+                    channel = FileChannel.open(file.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                }
+
+                ByteBuffer data = ByteBuffer.wrap(buffer, offset, count);
+
+                while (data.hasRemaining()) {
+                    channel.write(data, position + count - data.remaining());
+                }
+
+                file.size = position + count;
+            } catch (IOException e) {
+                log.debug("Failed to write to cached audio file {}, no longer caching it.", file.path, e);
+                release(count);
+                writeStopped = true;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close cached audio file {}.", file.path, e);
+                }
+            }
+
+            synchronized (AudioFileCache.this) {
+                file.users--;
+
+                if (writer) {
+                    file.writing = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package dev.lavalink.youtube.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used cache of byte arrays, kept in memory up to a byte limit. The least recently used entries
+ * are then moved to an optional disk directory, which has its own byte limit. Disk I/O happens outside of the
+ * lock, so a slow disk only delays the thread that is reading or spilling.
+ */
+public class TieredByteCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(TieredByteCache.class);
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    // Entries that left memory and are being written to disk, still readable from here until they are.
+    private final Map<String, byte[]> spilling = new HashMap<>();
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final String fileSuffix;
+    private final boolean persistent;
+    private long memoryBytes;
+    private long diskBytes;
+
+    /**
+     * @param maxMemoryBytes The maximum total size of the entries kept in memory, entries beyond it are dropped.
+     */
+    public TieredByteCache(long maxMemoryBytes) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = null;
+        this.maxDiskBytes = 0;
+        this.fileSuffix = null;
+        this.persistent = false;
+    }
+
+    /**
+     * @param maxMemoryBytes The maximum total size of the entries kept in memory.
+     * @param directory Directory to move entries to once they no longer fit in memory, null to drop them instead.
+     * @param maxDiskBytes The maximum total size of the entries kept on disk.
+     * @param fileSuffix Suffix of the files of this cache, to tell them apart from other files in the directory.
+     * @param persistent Whether entries are kept on disk for the next run, including the ones in memory on
+     *                   {@link #close()}. Otherwise, files left in the directory by a previous run are deleted, as
+     *                   are all files on {@link #close()}.
+     */
+    public TieredByteCache(long maxMemoryBytes,
+                           @Nullable Path directory,
+                           long maxDiskBytes,
+                           @NotNull String fileSuffix,
+                           boolean persistent) throws IOException {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.fileSuffix = fileSuffix;
+        this.persistent = persistent;
+
+        if (directory != null) {
+            Files.createDirectories(directory);
+            // Left behind if the process stopped while an entry was being written.
+            deleteFiles("*" + fileSuffix + TEMPORARY_SUFFIX);
+
+            if (persistent) {
+                loadFiles();
+            } else {
+                deleteFiles();
+            }
+        }
+    }
+
+    /**
+     * @param id Identifies the entry, must be safe to use as a file name.
+     * @return The cached data, or null if it is not cached.
+     */
+    @Nullable
+    public byte[] get(@NotNull String id) {
+        synchronized (this) {
+            byte[] data = memory.get(id);
+
+            if (data == null) {
+                data = spilling.get(id);
+            }
+
+            if (data != null || !disk.containsKey(id)) {
+                return data;
+            }
+        }
+
+        try {
+            return Files.readAllBytes(directory.resolve(id + fileSuffix));
+        } catch (IOException e) {
+            // Evicted in the meantime, or the file is gone for some other reason.
+            synchronized (this) {
+                Long size = disk.remove(id);
+
+                if (size != null) {
+                    diskBytes -= size;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * @param id Identifies the entry, must be safe to use as a file name.
+     * @param data The data to cache. Entries are never replaced, as the data for an ID is expected not to change.
+     */
+    public void put(@NotNull String id, @NotNull byte[] data) {
+        List<Map.Entry<String, byte[]>> spilled = new ArrayList<>();
+
+        synchronized (this) {
+            if (memory.containsKey(id) || spilling.containsKey(id) || disk.containsKey(id)) {
+                return;
+            }
+
+            memory.put(id, data);
+            memoryBytes += data.length;
+
+            Iterator<Map.Entry<String, byte[]>> iterator = memory.entrySet().iterator();
+
+            while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+                Map.Entry<String, byte[]> eldest = iterator.next();
+                memoryBytes -= eldest.getValue().length;
+                iterator.remove();
+                spilled.add(eldest);
+
+                if (directory != null) {
+                    spilling.put(eldest.getKey(), eldest.getValue());
+                }
+            }
+        }
+
+        if (directory != null) {
+            for (Map.Entry<String, byte[]> entry : spilled) {
+                spill(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (directory != null && persistent) {
+            List<Map.Entry<String, byte[]>> remaining;
+
+            synchronized (this) {
+                remaining = new ArrayList<>(memory.entrySet());
+            }
+
+            // Keep what is in memory for the next run too, least recently used first so it is evicted first.
+            for (Map.Entry<String, byte[]> entry : remaining) {
+                spill(entry.getKey(), entry.getValue());
+            }
+        }
+
+        synchronized (this) {
+            memory.clear();
+            spilling.clear();
+            disk.clear();
+            memoryBytes = 0;
+            diskBytes = 0;
+        }
+
+        if (directory != null && !persistent) {
+            deleteFiles();
+        }
+    }
+
+    private void spill(String id, byte[] data) {
+        try {
+            if (data.length > maxDiskBytes) {
+                return;
+            }
+
+            Path file = directory.resolve(id + fileSuffix);
+            Path temporary = directory.resolve(id + fileSuffix + TEMPORARY_SUFFIX);
+
+            try {
+                Files.write(temporary, data);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.debug("Failed to move cache entry {} to disk.", id, e);
+                return;
+            }
+
+            List<String> evicted;
+
+            synchronized (this) {
+                // The file may have replaced one written for the same ID in the meantime (by close() while this entry
+                // was being spilled), which must not be counted twice.
+                Long previous = disk.put(id, (long) data.length);
+
+                if (previous != null) {
+                    diskBytes -= previous;
+                }
+
+                diskBytes += data.length;
+                evicted = evictFromDisk();
+            }
+
+            deleteEvicted(evicted);
+        } finally {
+            synchronized (this) {
+                spilling.remove(id, data);
+            }
+        }
+    }
+
+    private List<String> evictFromDisk() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = disk.entrySet().iterator();
+
+        while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            diskBytes -= eldest.getValue();
+            iterator.remove();
+            evicted.add(eldest.getKey());
+        }
+
+        return evicted;
+    }
+
+    private void deleteEvicted(List<String> evicted) {
+        for (String evictedId : evicted) {
+            try {
+                Files.deleteIfExists(directory.resolve(evictedId + fileSuffix));
+            } catch (IOException e) {
+                log.debug("Failed to delete cache entry {}.", evictedId, e);
+            }
+        }
+    }
+
+    private void loadFiles() throws IOException {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + fileSuffix)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        // Oldest first, so that they are also the first to be evicted.
+        files.sort(Comparator.comparingLong(TieredByteCache::lastModified));
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            sizes.put(name.substring(0, name.length() - fileSuffix.length()), Files.size(file));
+        }
+
+        List<String> evicted;
+
+        synchronized (this) {
+            for (Map.Entry<String, Long> entry : sizes.entrySet()) {
+                disk.put(entry.getKey(), entry.getValue());
+                diskBytes += entry.getValue();
+            }
+
+            evicted = evictFromDisk();
+        }
+
+        deleteEvicted(evicted);
+    }
+
+    private void deleteFiles() throws IOException {
+        deleteFiles("*" + fileSuffix);
+    }
+
+    private void deleteFiles(String glob) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
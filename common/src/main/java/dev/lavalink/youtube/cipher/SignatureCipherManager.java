@@ -32,6 +32,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -87,7 +88,7 @@ public class SignatureCipherManager {
   private final ConcurrentMap<String, SignatureCipher> cipherCache;
   private final Set<String> dumpedScriptUrls;
   private final ScriptEngine scriptEngine;
-  private final Object cipherLoadLock;
+  private final ReentrantLock cipherLoadLock;
 
   protected volatile CachedPlayerScript cachedPlayerScript;
 
@@ -98,7 +99,7 @@ public class SignatureCipherManager {
     this.cipherCache = new ConcurrentHashMap<>();
     this.dumpedScriptUrls = new HashSet<>();
     this.scriptEngine = new RhinoScriptEngineFactory().getScriptEngine();
-    this.cipherLoadLock = new Object();
+    this.cipherLoadLock = new ReentrantLock();
   }
 
   /**
@@ -164,7 +165,9 @@ public class SignatureCipherManager {
   }
 
   private CachedPlayerScript getPlayerScript(@NotNull HttpInterface httpInterface) {
-    synchronized (cipherLoadLock) {
+    cipherLoadLock.lock();
+
+    try {
       try (CloseableHttpResponse response = httpInterface.execute(new HttpGet("https://www.youtube.com/embed/"))) {
         HttpClientTools.assertSuccessWithContent(response, "fetch player script (embed)");
 
@@ -179,27 +182,62 @@ public class SignatureCipherManager {
       } catch (IOException e) {
         throw ExceptionTools.toRuntimeException(e);
       }
+    } finally {
+      cipherLoadLock.unlock();
     }
   }
 
   public CachedPlayerScript getCachedPlayerScript(@NotNull HttpInterface httpInterface) {
     if (cachedPlayerScript == null || System.currentTimeMillis() >= cachedPlayerScript.expireTimestampMs) {
-      synchronized (cipherLoadLock) {
+      cipherLoadLock.lock();
+
+      try {
         if (cachedPlayerScript == null || System.currentTimeMillis() >= cachedPlayerScript.expireTimestampMs) {
           return getPlayerScript(httpInterface);
         }
+      } finally {
+        cipherLoadLock.unlock();
       }
     }
 
     return cachedPlayerScript;
   }
 
+  /**
+   * Drops the cached player script URL if it is the given one, so that the next format request looks up the
+   * current player script instead of waiting for the cached one to expire.
+   *
+   * @param scriptUrl The URL of the player script that should no longer be used
+   */
+  public void expirePlayerScript(@NotNull String scriptUrl) {
+    cipherLoadLock.lock();
+
+    try {
+      CachedPlayerScript current = cachedPlayerScript;
+
+      if (current != null && scriptUrl.equals(current.url)) {
+        cachedPlayerScript = null;
+      }
+    } finally {
+      cipherLoadLock.unlock();
+    }
+  }
+
   public SignatureCipher getCipherScript(@NotNull HttpInterface httpInterface,
                                          @NotNull String cipherScriptUrl) throws IOException {
     SignatureCipher cipherKey = cipherCache.get(cipherScriptUrl);
 
     if (cipherKey == null) {
-      synchronized (cipherLoadLock) {
+      cipherLoadLock.lock();
+
+      try {
+        cipherKey = cipherCache.get(cipherScriptUrl);
+
+        if (cipherKey != null) {
+          // Parsed by another thread while this one was waiting for the lock.
+          return cipherKey;
+        }
+
         log.debug("Parsing player script {}", cipherScriptUrl);
 
         try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(parseTokenScriptUrl(cipherScriptUrl)))) {
@@ -213,6 +251,8 @@ public class SignatureCipherManager {
           cipherKey = extractFromScript(EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8), cipherScriptUrl);
           cipherCache.put(cipherScriptUrl, cipherKey);
         }
+      } finally {
+        cipherLoadLock.unlock();
       }
     }
 
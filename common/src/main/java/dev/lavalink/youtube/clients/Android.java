@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import dev.lavalink.youtube.clients.ClientConfig.AndroidVersion;
 import dev.lavalink.youtube.clients.skeleton.StreamingNonMusicClient;
+import dev.lavalink.youtube.json.JsonPath;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 public class Android extends StreamingNonMusicClient {
     private static final Logger log = LoggerFactory.getLogger(Android.class);
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("header.pageHeaderRenderer.content.elementRenderer.newElement.type.componentType.model.youtubeModel.viewModel.pageHeaderViewModel.title.dynamicTextViewModel.text.content");
 
     public static String CLIENT_VERSION = "19.44.38";
     public static AndroidVersion ANDROID_VERSION = AndroidVersion.ANDROID_11;
@@ -67,22 +69,7 @@ public class Android extends StreamingNonMusicClient {
     @Override
     @NotNull
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("header")
-                .get("pageHeaderRenderer")
-                .get("content")
-                .get("elementRenderer")
-                .get("newElement")
-                .get("type")
-                .get("componentType")
-                .get("model")
-                .get("youtubeModel")
-                .get("viewModel")
-                .get("pageHeaderViewModel")
-                .get("title")
-                .get("dynamicTextViewModel")
-                .get("text")
-                .get("content")
-                .text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 
     @Override
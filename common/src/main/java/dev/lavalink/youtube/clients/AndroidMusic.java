@@ -8,17 +8,21 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.json.JsonPath;
+import dev.lavalink.youtube.json.JsonSelection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class AndroidMusic extends Android {
     private static final Logger log = LoggerFactory.getLogger(AndroidMusic.class);
+    private static final JsonPath SEARCH_RESULTS_PATH = JsonPath.compile("contents.tabbedSearchResultsRenderer.tabs[*].tabRenderer.content.sectionListRenderer.contents[*].musicCardShelfRenderer");
+    private static final JsonPath MIX_TABS_PATH = JsonPath.compile("contents.singleColumnMusicWatchNextResultsRenderer.tabbedRenderer.watchNextTabbedResultsRenderer.tabs[*].tabRenderer");
+    private static final JsonPath MIX_QUEUE_PATH = JsonPath.compile("content.musicQueueRenderer.content.playlistPanelRenderer");
+    private static final JsonPath MENU_SECONDARY_TEXT_PATH = JsonPath.compile("menu.menuRenderer.title.musicMenuTitleRenderer.secondaryText.runs");
     public static String CLIENT_VERSION = "7.27.52";
 
     public static ClientConfig BASE_CONFIG = new ClientConfig()
@@ -26,6 +30,12 @@ public class AndroidMusic extends Android {
         .withClientField("clientVersion", CLIENT_VERSION)
         .withUserAgent(String.format("com.google.android.apps.youtube.music/%s (Linux; U; Android %s) gzip", CLIENT_VERSION, ANDROID_VERSION.getOsVersion()));
 
+    // The queue is in one of the tabs, which are matched by title, so the whole tab list is kept.
+    protected static final JsonSelection MUSIC_MIX_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("contents.singleColumnMusicWatchNextResultsRenderer.tabbedRenderer")
+        .skipKeys(UNUSED_RENDERER_KEYS)
+        .build();
+
     public AndroidMusic() {
         this(ClientOptions.DEFAULT);
     }
@@ -46,38 +56,28 @@ public class AndroidMusic extends Android {
         return MOBILE_PLAYER_PARAMS;
     }
 
+    @Override
+    @NotNull
+    protected JsonSelection getMixResponseSelection() {
+        return MUSIC_MIX_RESPONSE_SELECTION;
+    }
+
     @Override
     @NotNull
     protected JsonBrowser extractMixPlaylistData(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnMusicWatchNextResultsRenderer")
-            .get("tabbedRenderer")
-            .get("watchNextTabbedResultsRenderer")
-            .get("tabs")
-            .values()
-            .stream()
-            .filter(tab -> "Up next".equalsIgnoreCase(tab.get("tabRenderer").get("title").text()))
-            .findFirst()
-            .orElse(json)
-            .get("tabRenderer")
-            .get("content")
-            .get("musicQueueRenderer")
-            .get("content")
-            .get("playlistPanelRenderer");
+        for (JsonBrowser tab : MIX_TABS_PATH.getAll(json)) {
+            if ("Up next".equalsIgnoreCase(tab.get("title").text())) {
+                return MIX_QUEUE_PATH.get(tab);
+            }
+        }
+
+        return JsonBrowser.NULL_BROWSER;
     }
 
     @NotNull
     protected List<AudioTrack> extractSearchResults(@NotNull YoutubeAudioSourceManager source,
                                                     @NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("tabbedSearchResultsRenderer")
-            .get("tabs")
-            .values()
-            .stream()
-            .flatMap(item -> item.get("tabRenderer").get("content").get("sectionListRenderer").get("contents").values().stream())
-            .map(item -> extractAudioTrack(item.get("musicCardShelfRenderer"), source))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        return extractAudioTracks(SEARCH_RESULTS_PATH, json, source);
     }
 
     @Override
@@ -98,7 +98,7 @@ public class AndroidMusic extends Android {
         }
 
         JsonBrowser titleJson = json.get("title");
-        JsonBrowser secondaryJson = json.get("menu").get("menuRenderer").get("title").get("musicMenuTitleRenderer").get("secondaryText").get("runs");
+        JsonBrowser secondaryJson = MENU_SECONDARY_TEXT_PATH.get(json);
         String title = DataFormatTools.defaultOnNull(titleJson.get("runs").index(0).get("text").text(), titleJson.get("simpleText").text());
         String author = secondaryJson.index(0).get("text").text();
 
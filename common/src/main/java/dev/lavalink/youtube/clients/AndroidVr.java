@@ -3,9 +3,12 @@ package dev.lavalink.youtube.clients;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import dev.lavalink.youtube.clients.ClientConfig.AndroidVersion;
+import dev.lavalink.youtube.json.JsonPath;
 import org.jetbrains.annotations.NotNull;
 
 public class AndroidVr extends Android {
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("header.playlistHeaderRenderer.title.runs[0].text");
+
     public static String CLIENT_VERSION = "1.60.19";
     public static AndroidVersion ANDROID_VERSION = AndroidVersion.ANDROID_12L;
 
@@ -41,6 +44,6 @@ public class AndroidVr extends Android {
     @Override
     @NotNull
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("header").get("playlistHeaderRenderer").get("title").get("runs").index(0).get("text").text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 }
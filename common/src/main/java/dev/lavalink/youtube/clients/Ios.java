@@ -3,9 +3,13 @@ package dev.lavalink.youtube.clients;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import dev.lavalink.youtube.clients.skeleton.StreamingNonMusicClient;
+import dev.lavalink.youtube.json.JsonPath;
 import org.jetbrains.annotations.NotNull;
 
 public class Ios extends StreamingNonMusicClient {
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("header.pageHeaderRenderer.pageTitle");
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.singleColumnBrowseResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[0].itemSectionRenderer.contents[0].playlistVideoListRenderer");
+
     public static String CLIENT_VERSION = "19.45.4";
 
     public static ClientConfig BASE_CONFIG = new ClientConfig()
@@ -33,28 +37,13 @@ public class Ios extends StreamingNonMusicClient {
     @Override
     @NotNull
     protected JsonBrowser extractPlaylistVideoList(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnBrowseResultsRenderer")
-            .get("tabs")
-            .index(0)
-            .get("tabRenderer")
-            .get("content")
-            .get("sectionListRenderer")
-            .get("contents")
-            .index(0)
-            .get("itemSectionRenderer")
-            .get("contents")
-            .index(0)
-            .get("playlistVideoListRenderer");
+        return PLAYLIST_VIDEO_LIST_PATH.get(json);
     }
 
     @Override
     @NotNull
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("header")
-                .get("pageHeaderRenderer")
-                .get("pageTitle")
-                .text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 
     @Override
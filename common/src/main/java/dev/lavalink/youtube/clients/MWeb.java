@@ -8,13 +8,17 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
 import dev.lavalink.youtube.OptionDisabledException;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.json.JsonPath;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class MWeb extends Web {
+    private static final JsonPath SEARCH_RESULTS_PATH = JsonPath.compile("contents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].videoWithContextRenderer");
+    private static final JsonPath MIX_PLAYLIST_PATH = JsonPath.compile("contents.singleColumnWatchNextResults.playlist.playlist");
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("header.pageHeaderRenderer.pageTitle");
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.singleColumnBrowseResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[0].itemSectionRenderer.contents[0].playlistVideoListRenderer");
+
     public static ClientConfig BASE_CONFIG = new ClientConfig()
         .withClientName("MWEB")
         .withClientField("clientVersion", "2.20240726.11.00");
@@ -37,50 +41,24 @@ public class MWeb extends Web {
     @NotNull
     protected List<AudioTrack> extractSearchResults(@NotNull YoutubeAudioSourceManager source,
                                                     @NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("sectionListRenderer")
-            .get("contents")
-            .values() // .index(0)
-            .stream()
-            .flatMap(item -> item.get("itemSectionRenderer").get("contents").values().stream()) // actual results
-            .map(item -> extractAudioTrack(item.get("videoWithContextRenderer"), source))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        return extractAudioTracks(SEARCH_RESULTS_PATH, json, source);
     }
 
     @Override
     @NotNull
     protected JsonBrowser extractMixPlaylistData(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnWatchNextResults")
-            .get("playlist")
-            .get("playlist");
+        return MIX_PLAYLIST_PATH.get(json);
     }
 
     @Override
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("header")
-            .get("pageHeaderRenderer")
-            .get("pageTitle")
-            .text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 
     @Override
     @NotNull
     protected JsonBrowser extractPlaylistVideoList(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnBrowseResultsRenderer")
-            .get("tabs")
-            .index(0)
-            .get("tabRenderer")
-            .get("content")
-            .get("sectionListRenderer")
-            .get("contents")
-            .index(0)
-            .get("itemSectionRenderer")
-            .get("contents")
-            .index(0)
-            .get("playlistVideoListRenderer");
+        return PLAYLIST_VIDEO_LIST_PATH.get(json);
     }
 
     @Override
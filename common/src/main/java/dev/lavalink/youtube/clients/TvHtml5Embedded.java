@@ -10,12 +10,16 @@ import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
 import dev.lavalink.youtube.clients.skeleton.StreamingNonMusicClient;
+import dev.lavalink.youtube.json.JsonPath;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
 public class TvHtml5Embedded extends StreamingNonMusicClient {
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.sectionListRenderer.contents[0].playlistVideoListRenderer");
+    private static final JsonPath FIRST_RUN_TEXT_PATH = JsonPath.compile("runs[0].text");
+
     public static ClientConfig BASE_CONFIG = new ClientConfig()
         .withClientName("TVHTML5_SIMPLY_EMBEDDED_PLAYER")
         .withClientField("clientVersion", "2.0")
@@ -40,11 +44,7 @@ public class TvHtml5Embedded extends StreamingNonMusicClient {
     @Override
     @NotNull
     protected JsonBrowser extractPlaylistVideoList(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("sectionListRenderer")
-            .get("contents")
-            .index(0)
-            .get("playlistVideoListRenderer");
+        return PLAYLIST_VIDEO_LIST_PATH.get(json);
     }
 
     @Override
@@ -68,8 +68,8 @@ public class TvHtml5Embedded extends StreamingNonMusicClient {
             if (!authorJson.isNull()) {
                 String videoId = item.get("videoId").text();
                 JsonBrowser titleField = item.get("title");
-                String title = DataFormatTools.defaultOnNull(titleField.get("simpleText").text(), titleField.get("runs").index(0).get("text").text());
-                String author = DataFormatTools.defaultOnNull(authorJson.get("runs").index(0).get("text").text(), "Unknown artist");
+                String title = DataFormatTools.defaultOnNull(titleField.get("simpleText").text(), FIRST_RUN_TEXT_PATH.text(titleField));
+                String author = DataFormatTools.defaultOnNull(FIRST_RUN_TEXT_PATH.text(authorJson), "Unknown artist");
                 long duration = Units.secondsToMillis(item.get("lengthSeconds").asLong(Units.DURATION_SEC_UNKNOWN));
                 tracks.add(buildAudioTrack(source, track, title, author, duration, videoId, false));
             }
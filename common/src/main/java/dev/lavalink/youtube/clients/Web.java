@@ -8,6 +8,7 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
 import dev.lavalink.youtube.clients.skeleton.StreamingNonMusicClient;
+import dev.lavalink.youtube.json.JsonPath;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
@@ -22,10 +23,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class Web extends StreamingNonMusicClient {
     private static final Logger log = LoggerFactory.getLogger(Web.class);
@@ -39,7 +39,16 @@ public class Web extends StreamingNonMusicClient {
 
     public static String poToken;
 
+    private static final JsonPath SEARCH_RESULTS_PATH = JsonPath.compile("contents.twoColumnSearchResultsRenderer.primaryContents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].videoRenderer");
+    private static final JsonPath MIX_PLAYLIST_PATH = JsonPath.compile("contents.twoColumnWatchNextResults.playlist.playlist");
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("metadata.playlistMetadataRenderer.title");
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.twoColumnBrowseResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[0].itemSectionRenderer.contents[0].playlistVideoListRenderer");
+    private static final JsonPath CONTINUATION_COMMAND_TOKEN_PATH = JsonPath.compile("continuationEndpoint.continuationCommand.token");
+    private static final JsonPath EXECUTOR_COMMAND_TOKEN_PATH = JsonPath.compile("continuationEndpoint.commandExecutorCommand.commands[1].continuationCommand.token");
+    private static final JsonPath PLAYLIST_CONTINUATION_VIDEOS_PATH = JsonPath.compile("onResponseReceivedActions[0].appendContinuationItemsAction.continuationItems");
+
     protected volatile long lastConfigUpdate = -1;
+    protected final ReentrantLock configLock = new ReentrantLock();
 
     protected ClientOptions options;
 
@@ -126,10 +135,14 @@ public class Web extends StreamingNonMusicClient {
     @NotNull
     public ClientConfig getBaseClientConfig(@NotNull HttpInterface httpInterface) {
         if (lastConfigUpdate == -1) {
-            synchronized (this) {
+            configLock.lock();
+
+            try {
                 if (lastConfigUpdate == -1) {
                     fetchClientConfig(httpInterface);
                 }
+            } finally {
+                configLock.unlock();
             }
         }
 
@@ -159,48 +172,24 @@ public class Web extends StreamingNonMusicClient {
     @NotNull
     protected List<AudioTrack> extractSearchResults(@NotNull YoutubeAudioSourceManager source,
             @NotNull JsonBrowser json) {
-        return json.get("contents")
-                .get("twoColumnSearchResultsRenderer")
-                .get("primaryContents")
-                .get("sectionListRenderer")
-                .get("contents")
-                .values() // .index(0)
-                .stream()
-                .flatMap(item -> item.get("itemSectionRenderer").get("contents").values().stream()) // actual results
-                .map(item -> extractAudioTrack(item.get("videoRenderer"), source))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return extractAudioTracks(SEARCH_RESULTS_PATH, json, source);
     }
 
     @Override
     @NotNull
     protected JsonBrowser extractMixPlaylistData(@NotNull JsonBrowser json) {
-        return json.get("contents")
-                .get("twoColumnWatchNextResults")
-                .get("playlist") // this doesn't exist if mix is not found
-                .get("playlist");
+        // the playlist doesn't exist if mix is not found
+        return MIX_PLAYLIST_PATH.get(json);
     }
 
     @Override
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("metadata").get("playlistMetadataRenderer").get("title").text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 
     @NotNull
     protected JsonBrowser extractPlaylistVideoList(@NotNull JsonBrowser json) {
-        return json.get("contents")
-                .get("twoColumnBrowseResultsRenderer")
-                .get("tabs")
-                .index(0)
-                .get("tabRenderer")
-                .get("content")
-                .get("sectionListRenderer")
-                .get("contents")
-                .index(0)
-                .get("itemSectionRenderer")
-                .get("contents")
-                .index(0)
-                .get("playlistVideoListRenderer");
+        return PLAYLIST_VIDEO_LIST_PATH.get(json);
     }
 
     @Override
@@ -213,30 +202,29 @@ public class Web extends StreamingNonMusicClient {
             videoList = contents;
         }
 
-        return videoList.values()
-                .stream()
-                .filter(item -> !item.get("continuationItemRenderer").isNull())
-                .findFirst()
-                .map(item -> {
-                    JsonBrowser continuationEndpoint = item.get("continuationItemRenderer").get("continuationEndpoint");
-                    String token = continuationEndpoint.get("continuationCommand").get("token").text();
-                    if (!DataFormatTools.isNullOrEmpty(token)) {
-                        return token;
-                    }
-
-                    return continuationEndpoint.get("commandExecutorCommand").get("commands").index(1)
-                            .get("continuationCommand").get("token").text();
-                })
-                .orElse(null);
+        for (JsonBrowser item : videoList.values()) {
+            JsonBrowser renderer = item.get("continuationItemRenderer");
+
+            if (renderer.isNull()) {
+                continue;
+            }
+
+            String token = CONTINUATION_COMMAND_TOKEN_PATH.text(renderer);
+
+            if (!DataFormatTools.isNullOrEmpty(token)) {
+                return token;
+            }
+
+            return EXECUTOR_COMMAND_TOKEN_PATH.text(renderer);
+        }
+
+        return null;
     }
 
     @Override
     @NotNull
     protected JsonBrowser extractPlaylistContinuationVideos(@NotNull JsonBrowser continuationJson) {
-        return continuationJson.get("onResponseReceivedActions")
-                .index(0)
-                .get("appendContinuationItemsAction")
-                .get("continuationItems");
+        return PLAYLIST_CONTINUATION_VIDEOS_PATH.get(continuationJson);
     }
 
     @Override
@@ -0,0 +1,68 @@
+package dev.lavalink.youtube.clients.skeleton;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.track.format.TrackFormats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous counterpart of {@link Client}. Each load opens its own HTTP interface, so loads may be
+ * started from any thread and run in parallel. The futures complete with the same results as the matching
+ * {@link Client} methods, or exceptionally with the exception those would throw (including
+ * {@link dev.lavalink.youtube.CannotBeLoaded}).
+ * @see Client#async(java.util.concurrent.Executor)
+ */
+public interface AsyncClient {
+    /**
+     * @return The client that performs the loads.
+     */
+    @NotNull
+    Client getClient();
+
+    /**
+     * @see Client#loadFormats
+     */
+    @NotNull
+    CompletableFuture<TrackFormats> loadFormats(@NotNull YoutubeAudioSourceManager source,
+                                                @NotNull String videoId);
+
+    /**
+     * @see Client#loadVideo
+     */
+    @NotNull
+    CompletableFuture<AudioItem> loadVideo(@NotNull YoutubeAudioSourceManager source,
+                                           @NotNull String videoId);
+
+    /**
+     * @see Client#loadSearch
+     */
+    @NotNull
+    CompletableFuture<AudioItem> loadSearch(@NotNull YoutubeAudioSourceManager source,
+                                            @NotNull String searchQuery);
+
+    /**
+     * @see Client#loadSearchMusic
+     */
+    @NotNull
+    CompletableFuture<AudioItem> loadSearchMusic(@NotNull YoutubeAudioSourceManager source,
+                                                 @NotNull String searchQuery);
+
+    /**
+     * @see Client#loadMix
+     */
+    @NotNull
+    CompletableFuture<AudioItem> loadMix(@NotNull YoutubeAudioSourceManager source,
+                                         @NotNull String mixId,
+                                         @Nullable String selectedVideoId);
+
+    /**
+     * @see Client#loadPlaylist
+     */
+    @NotNull
+    CompletableFuture<AudioItem> loadPlaylist(@NotNull YoutubeAudioSourceManager source,
+                                              @NotNull String playlistId,
+                                              @Nullable String selectedVideoId);
+}
@@ -16,6 +16,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
@@ -226,6 +227,17 @@ public interface Client {
 
     void setPlaylistPageCount(int count);
 
+    /**
+     * @param executor The executor to run the loads on. This should be an executor dedicated to these loads, not
+     *                 {@link YoutubeAudioSourceManager#getRenewalExecutor()}, as stream URL renewals of playing tracks
+     *                 would otherwise queue behind them and expire mid-playback.
+     * @return An asynchronous view of this client.
+     */
+    @NotNull
+    default AsyncClient async(@NotNull Executor executor) {
+        return new ExecutorAsyncClient(this, executor);
+    }
+
     /**
      * Loads streaming formats for a video.
      * @param source The source manager responsible for this client.
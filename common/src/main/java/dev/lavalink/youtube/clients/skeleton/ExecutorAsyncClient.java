@@ -0,0 +1,128 @@
+package dev.lavalink.youtube.clients.skeleton;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.http.RequestCancellation;
+import dev.lavalink.youtube.track.format.TrackFormats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the blocking loads of a {@link Client} on an executor. Request building and response parsing are
+ * the client's own, only the thread that waits for the response differs, so the results are the same as
+ * loading synchronously. Combined with a virtual thread executor, waiting loads cost no platform threads.
+ * Cancelling a future aborts the request the load is waiting for.
+ */
+public class ExecutorAsyncClient implements AsyncClient {
+    private final Client client;
+    private final Executor executor;
+
+    /**
+     * @param client The client to load with.
+     * @param executor The executor to run the loads on.
+     */
+    public ExecutorAsyncClient(@NotNull Client client, @NotNull Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    @Override
+    @NotNull
+    public Client getClient() {
+        return client;
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<TrackFormats> loadFormats(@NotNull YoutubeAudioSourceManager source,
+                                                       @NotNull String videoId) {
+        return submit(source, httpInterface -> client.loadFormats(source, httpInterface, videoId));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<AudioItem> loadVideo(@NotNull YoutubeAudioSourceManager source,
+                                                  @NotNull String videoId) {
+        return submit(source, httpInterface -> client.loadVideo(source, httpInterface, videoId));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<AudioItem> loadSearch(@NotNull YoutubeAudioSourceManager source,
+                                                   @NotNull String searchQuery) {
+        return submit(source, httpInterface -> client.loadSearch(source, httpInterface, searchQuery));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<AudioItem> loadSearchMusic(@NotNull YoutubeAudioSourceManager source,
+                                                        @NotNull String searchQuery) {
+        return submit(source, httpInterface -> client.loadSearchMusic(source, httpInterface, searchQuery));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<AudioItem> loadMix(@NotNull YoutubeAudioSourceManager source,
+                                                @NotNull String mixId,
+                                                @Nullable String selectedVideoId) {
+        return submit(source, httpInterface -> client.loadMix(source, httpInterface, mixId, selectedVideoId));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<AudioItem> loadPlaylist(@NotNull YoutubeAudioSourceManager source,
+                                                     @NotNull String playlistId,
+                                                     @Nullable String selectedVideoId) {
+        return submit(source, httpInterface -> client.loadPlaylist(source, httpInterface, playlistId, selectedVideoId));
+    }
+
+    @NotNull
+    protected <T> CompletableFuture<T> submit(@NotNull YoutubeAudioSourceManager source, @NotNull Load<T> load) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        RequestCancellation cancellation = new RequestCancellation();
+
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                cancellation.cancel();
+            }
+        });
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    // Cancelled before it started.
+                    return;
+                }
+
+                try (HttpInterface httpInterface = source.getInterface()) {
+                    httpInterface.getContext().setAttribute(Client.OAUTH_CLIENT_ATTRIBUTE, client.supportsOAuth());
+                    httpInterface.getContext().setAttribute(RequestCancellation.ATTRIBUTE, cancellation);
+
+                    try {
+                        future.complete(load.load(httpInterface));
+                    } finally {
+                        // The interface may be reused by the next load on this thread.
+                        httpInterface.getContext().removeAttribute(RequestCancellation.ATTRIBUTE);
+                    }
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (Throwable t) {
+            // Most likely rejected because the executor has been shut down.
+            future.completeExceptionally(t);
+        }
+
+        return future;
+    }
+
+    @FunctionalInterface
+    protected interface Load<T> {
+        T load(@NotNull HttpInterface httpInterface) throws Throwable;
+    }
+}
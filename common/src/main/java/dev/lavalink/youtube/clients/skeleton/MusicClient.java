@@ -9,6 +9,8 @@ import com.sedmelluq.discord.lavaplayer.track.*;
 import dev.lavalink.youtube.OptionDisabledException;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
 import dev.lavalink.youtube.clients.ClientConfig;
+import dev.lavalink.youtube.json.JsonPath;
+import dev.lavalink.youtube.json.JsonSelection;
 import dev.lavalink.youtube.track.format.TrackFormats;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
@@ -28,6 +30,13 @@ import java.util.List;
 public abstract class MusicClient implements Client {
     private static final Logger log = LoggerFactory.getLogger(MusicClient.class);
 
+    protected static final JsonSelection MUSIC_SEARCH_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("contents")
+        .skipKeys("trackingParams", "clickTrackingParams", "loggingDirectives", "accessibility")
+        .build();
+
+    private static final JsonPath SEARCH_SHELVES_PATH = JsonPath.compile("contents.tabbedSearchResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[*].musicShelfRenderer");
+
     @NotNull
     protected abstract ClientConfig getBaseClientConfig(@NotNull HttpInterface httpInterface);
 
@@ -44,27 +53,14 @@ public abstract class MusicClient implements Client {
 
         try (CloseableHttpResponse response = httpInterface.execute(request)) {
             HttpClientTools.assertSuccessWithContent(response, "search music response");
-            return JsonBrowser.parse(response.getEntity().getContent());
+            return MUSIC_SEARCH_RESPONSE_SELECTION.read(response.getEntity().getContent());
         } catch (IOException e) {
             throw ExceptionTools.toRuntimeException(e);
         }
     }
 
     protected JsonBrowser extractSearchResultTrackJson(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("tabbedSearchResultsRenderer")
-            .get("tabs")
-            .index(0)
-            .get("tabRenderer")
-            .get("content")
-            .get("sectionListRenderer")
-            .get("contents")
-            .values()
-            .stream()
-            .filter(item -> !item.get("musicShelfRenderer").isNull())
-            .findFirst()
-            .map(item -> item.get("musicShelfRenderer").get("contents"))
-            .orElse(JsonBrowser.NULL_BROWSER);
+        return SEARCH_SHELVES_PATH.get(json).get("contents");
     }
 
     @NotNull
@@ -12,6 +12,8 @@ import dev.lavalink.youtube.cipher.SignatureCipher;
 import dev.lavalink.youtube.cipher.SignatureCipherManager;
 import dev.lavalink.youtube.cipher.SignatureCipherManager.CachedPlayerScript;
 import dev.lavalink.youtube.clients.ClientConfig;
+import dev.lavalink.youtube.json.JsonPath;
+import dev.lavalink.youtube.json.JsonSelection;
 import dev.lavalink.youtube.track.TemporalInfo;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
@@ -23,10 +25,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
@@ -41,6 +43,50 @@ public abstract class NonMusicClient implements Client {
     protected static String WEB_PLAYER_PARAMS = "2AMB";
     protected static String MOBILE_PLAYER_PARAMS = "CgIIAdgDAQ%3D%3D";
 
+    // Tracking and presentation data that no client reads, present on nearly every renderer.
+    protected static final String[] UNUSED_RENDERER_KEYS = {
+        "trackingParams", "clickTrackingParams", "loggingDirectives", "accessibility", "thumbnailOverlays", "richThumbnail"
+    };
+
+    protected static final JsonSelection PLAYER_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("playabilityStatus")
+        .keep("videoDetails")
+        .keep("streamingData")
+        .build();
+
+    protected static final JsonSelection SEARCH_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("contents")
+        .skipKeys(UNUSED_RENDERER_KEYS)
+        .build();
+
+    // Leaves out the related videos and comments next to the playlist panel.
+    protected static final JsonSelection MIX_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("contents.*.playlist")
+        .skipKeys(UNUSED_RENDERER_KEYS)
+        .build();
+
+    protected static final JsonSelection BROWSE_RESPONSE_SELECTION = JsonSelection.builder()
+        .keep("alerts")
+        .keep("header")
+        .keep("metadata")
+        .keep("contents")
+        .keep("continuationContents")
+        .keep("onResponseReceivedActions")
+        .skipKeys(UNUSED_RENDERER_KEYS)
+        .build();
+
+    private static final JsonPath SEARCH_RESULTS_PATH = JsonPath.compile("contents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].compactVideoRenderer");
+    private static final JsonPath MIX_PLAYLIST_PATH = JsonPath.compile("contents.singleColumnWatchNextResults.playlist.playlist");
+    private static final JsonPath MIX_VIDEOS_PATH = JsonPath.compile("contents[*].playlistPanelVideoRenderer");
+    private static final JsonPath PLAYLIST_NAME_PATH = JsonPath.compile("header.playlistHeaderRenderer.title.runs[0].text");
+    private static final JsonPath PLAYLIST_VIDEO_LIST_PATH = JsonPath.compile("contents.singleColumnBrowseResultsRenderer.tabs[0].tabRenderer.content.sectionListRenderer.contents[0].playlistVideoListRenderer");
+    private static final JsonPath PLAYLIST_CONTINUATION_TOKEN_PATH = JsonPath.compile("continuations[0].nextContinuationData.continuation");
+    private static final JsonPath PLAYLIST_CONTINUATION_VIDEOS_PATH = JsonPath.compile("continuationContents.playlistVideoListContinuation");
+
+    private static final JsonPath FIRST_RUN_TEXT_PATH = JsonPath.compile("runs[0].text");
+    private static final JsonPath LONG_BYLINE_PATH = JsonPath.compile("longBylineText.runs[0].text");
+    private static final JsonPath SHORT_BYLINE_PATH = JsonPath.compile("shortBylineText.runs[0].text");
+
     protected int playlistPageCount = 6;
 
     //<editor-fold desc="Class-Specific Methods">
@@ -57,6 +103,18 @@ public abstract class NonMusicClient implements Client {
     protected JsonBrowser loadJsonResponse(@NotNull HttpInterface httpInterface,
                                            @NotNull HttpPost request,
                                            @NotNull String context) throws IOException {
+        return loadJsonResponse(httpInterface, request, context, null);
+    }
+
+    /**
+     * @param selection The parts of the response to keep, null to keep all of it. The response is parsed
+     *                  straight from the connection, and the parts that are not selected are never built.
+     */
+    @NotNull
+    protected JsonBrowser loadJsonResponse(@NotNull HttpInterface httpInterface,
+                                           @NotNull HttpPost request,
+                                           @NotNull String context,
+                                           @Nullable JsonSelection selection) throws IOException {
         if (request.getEntity() instanceof StringEntity) {
             log.debug("Requesting {} ({}) with payload {}", request.getURI(), context, EntityUtils.toString(request.getEntity(), StandardCharsets.UTF_8));
         } else {
@@ -69,13 +127,50 @@ public abstract class NonMusicClient implements Client {
             //       from my testing, json is always returned so might not be necessary.
             HttpClientTools.assertJsonContentType(response);
 
-            String json = EntityUtils.toString(response.getEntity());
-            log.trace("Response from {} ({}) {}", request.getURI(), context, json);
+            if (log.isTraceEnabled()) {
+                String json = EntityUtils.toString(response.getEntity());
+                log.trace("Response from {} ({}) {}", request.getURI(), context, json);
 
-            return JsonBrowser.parse(json);
+                return selection != null ? selection.read(json) : JsonBrowser.parse(json);
+            }
+
+            InputStream content = response.getEntity().getContent();
+            return selection != null ? selection.read(content) : JsonBrowser.parse(content);
         }
     }
 
+    /**
+     * @return The parts of player responses that this client reads.
+     */
+    @NotNull
+    protected JsonSelection getPlayerResponseSelection() {
+        return PLAYER_RESPONSE_SELECTION;
+    }
+
+    /**
+     * @return The parts of search responses that this client reads.
+     */
+    @NotNull
+    protected JsonSelection getSearchResponseSelection() {
+        return SEARCH_RESPONSE_SELECTION;
+    }
+
+    /**
+     * @return The parts of mix (next) responses that this client reads.
+     */
+    @NotNull
+    protected JsonSelection getMixResponseSelection() {
+        return MIX_RESPONSE_SELECTION;
+    }
+
+    /**
+     * @return The parts of playlist (browse) responses, including continuations, that this client reads.
+     */
+    @NotNull
+    protected JsonSelection getBrowseResponseSelection() {
+        return BROWSE_RESPONSE_SELECTION;
+    }
+
     @NotNull
     protected JsonBrowser loadTrackInfoFromInnertube(@NotNull YoutubeAudioSourceManager source,
                                                      @NotNull HttpInterface httpInterface,
@@ -137,7 +232,7 @@ public abstract class NonMusicClient implements Client {
         HttpPost request = new HttpPost(PLAYER_URL);
         request.setEntity(new StringEntity(payload, "UTF-8"));
 
-        JsonBrowser json = loadJsonResponse(httpInterface, request, "player api response");
+        JsonBrowser json = loadJsonResponse(httpInterface, request, "player api response", getPlayerResponseSelection());
         JsonBrowser playabilityJson = json.get("playabilityStatus");
         JsonBrowser videoDetails = json.get("videoDetails");
 
@@ -191,7 +286,7 @@ public abstract class NonMusicClient implements Client {
         request.setEntity(new StringEntity(payload, "UTF-8"));
 
         try {
-            return loadJsonResponse(httpInterface, request, "search response");
+            return loadJsonResponse(httpInterface, request, "search response", getSearchResponseSelection());
         } catch (IOException e) {
             throw ExceptionTools.toRuntimeException(e);
         }
@@ -200,15 +295,28 @@ public abstract class NonMusicClient implements Client {
     @NotNull
     protected List<AudioTrack> extractSearchResults(@NotNull YoutubeAudioSourceManager source,
                                                     @NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("sectionListRenderer")
-            .get("contents")
-            .values()
-            .stream()
-            .flatMap(item -> item.get("itemSectionRenderer").get("contents").values().stream())
-            .map(item -> extractAudioTrack(item.get("compactVideoRenderer"), source))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        return extractAudioTracks(SEARCH_RESULTS_PATH, json, source);
+    }
+
+    /**
+     * @param rendererPath The path of the video renderers in the JSON.
+     * @return The tracks that could be extracted from the renderers, see {@link #extractAudioTrack}.
+     */
+    @NotNull
+    protected List<AudioTrack> extractAudioTracks(@NotNull JsonPath rendererPath,
+                                                  @NotNull JsonBrowser json,
+                                                  @NotNull YoutubeAudioSourceManager source) {
+        List<AudioTrack> tracks = new ArrayList<>();
+
+        for (JsonBrowser renderer : rendererPath.getAll(json)) {
+            AudioTrack track = extractAudioTrack(renderer, source);
+
+            if (track != null) {
+                tracks.add(track);
+            }
+        }
+
+        return tracks;
     }
 
     @NotNull
@@ -224,7 +332,7 @@ public abstract class NonMusicClient implements Client {
         request.setEntity(new StringEntity(clientConfig.toJsonString(), "UTF-8"));
 
         try {
-            return loadJsonResponse(httpInterface, request, "mix response");
+            return loadJsonResponse(httpInterface, request, "mix response", getMixResponseSelection());
         } catch (IOException e) {
             throw new FriendlyException("Could not read mix page.", SUSPICIOUS, e);
         }
@@ -232,10 +340,8 @@ public abstract class NonMusicClient implements Client {
 
     @NotNull
     protected JsonBrowser extractMixPlaylistData(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnWatchNextResults")
-            .get("playlist") // this doesn't exist if mix is not found
-            .get("playlist");
+        // the playlist doesn't exist if mix is not found
+        return MIX_PLAYLIST_PATH.get(json);
     }
 
     @NotNull
@@ -249,7 +355,7 @@ public abstract class NonMusicClient implements Client {
         request.setEntity(new StringEntity(clientConfig.toJsonString(), "UTF-8"));
 
         try {
-            return loadJsonResponse(httpInterface, request, "playlist response");
+            return loadJsonResponse(httpInterface, request, "playlist response", getBrowseResponseSelection());
         } catch (IOException e) {
             throw ExceptionTools.toRuntimeException(e);
         }
@@ -280,31 +386,22 @@ public abstract class NonMusicClient implements Client {
 
     @Nullable
     protected String extractPlaylistName(@NotNull JsonBrowser json) {
-        return json.get("header").get("playlistHeaderRenderer").get("title").get("runs").index(0).get("text").text();
+        return PLAYLIST_NAME_PATH.text(json);
     }
 
     @NotNull
     protected JsonBrowser extractPlaylistVideoList(@NotNull JsonBrowser json) {
-        return json.get("contents")
-            .get("singleColumnBrowseResultsRenderer")
-            .get("tabs")
-            .index(0)
-            .get("tabRenderer")
-            .get("content")
-            .get("sectionListRenderer")
-            .get("contents")
-            .index(0)
-            .get("playlistVideoListRenderer");
+        return PLAYLIST_VIDEO_LIST_PATH.get(json);
     }
 
     @Nullable
     protected String extractPlaylistContinuationToken(@NotNull JsonBrowser videoList) {
-        return videoList.get("continuations").index(0).get("nextContinuationData").get("continuation").text();
+        return PLAYLIST_CONTINUATION_TOKEN_PATH.text(videoList);
     }
 
     @NotNull
     protected JsonBrowser extractPlaylistContinuationVideos(@NotNull JsonBrowser continuationJson) {
-        return continuationJson.get("continuationContents").get("playlistVideoListContinuation");
+        return PLAYLIST_CONTINUATION_VIDEOS_PATH.get(continuationJson);
     }
 
     protected void extractPlaylistTracks(@NotNull JsonBrowser json,
@@ -327,8 +424,8 @@ public abstract class NonMusicClient implements Client {
             if (!item.get("isPlayable").isNull() && !authorJson.isNull()) {
                 String videoId = item.get("videoId").text();
                 JsonBrowser titleField = item.get("title");
-                String title = DataFormatTools.defaultOnNull(titleField.get("simpleText").text(), titleField.get("runs").index(0).get("text").text());
-                String author = DataFormatTools.defaultOnNull(authorJson.get("runs").index(0).get("text").text(), "Unknown artist");
+                String title = DataFormatTools.defaultOnNull(titleField.get("simpleText").text(), FIRST_RUN_TEXT_PATH.text(titleField));
+                String author = DataFormatTools.defaultOnNull(FIRST_RUN_TEXT_PATH.text(authorJson), "Unknown artist");
                 long duration = Units.secondsToMillis(item.get("lengthSeconds").asLong(Units.DURATION_SEC_UNKNOWN));
                 tracks.add(buildAudioTrack(source, item, title, author, duration, videoId, false));
             }
@@ -338,19 +435,13 @@ public abstract class NonMusicClient implements Client {
     @Nullable
     protected AudioTrack extractAudioTrack(@NotNull JsonBrowser json,
                                            @NotNull YoutubeAudioSourceManager source) {
-        // this entire function needs redoing. Ideally being able to specify the paths of known JSON layouts
-        // rather than doing a load of null checks and substitutions.
-
         // Ignore if it's not a track or if it's a livestream
         if (json.isNull() || json.get("lengthText").isNull() || !json.get("unplayableText").isNull()) return null;
 
         String videoId = json.get("videoId").text();
         JsonBrowser titleJson = !json.get("headline").isNull() ? json.get("headline") : json.get("title");
-        String title = DataFormatTools.defaultOnNull(titleJson.get("runs").index(0).get("text").text(), titleJson.get("simpleText").text());
-        String author = DataFormatTools.defaultOnNull(
-            json.get("longBylineText").get("runs").index(0).get("text").text(),
-            json.get("shortBylineText").get("runs").index(0).get("text").text()
-        );
+        String title = DataFormatTools.defaultOnNull(FIRST_RUN_TEXT_PATH.text(titleJson), titleJson.get("simpleText").text());
+        String author = DataFormatTools.defaultOnNull(LONG_BYLINE_PATH.text(json), SHORT_BYLINE_PATH.text(json));
 
         if (author == null) {
             log.debug("Author field is null, client: {}, json: {}", getIdentifier(), json.format());
@@ -358,7 +449,7 @@ public abstract class NonMusicClient implements Client {
         }
 
         JsonBrowser durationJson = json.get("lengthText");
-        String durationText = DataFormatTools.defaultOnNull(durationJson.get("runs").index(0).get("text").text(), durationJson.get("simpleText").text());
+        String durationText = DataFormatTools.defaultOnNull(FIRST_RUN_TEXT_PATH.text(durationJson), durationJson.get("simpleText").text());
 
         long duration = DataFormatTools.durationTextToMillis(durationText);
         return buildAudioTrack(source, json, title, author, duration, videoId, false);
@@ -432,10 +523,7 @@ public abstract class NonMusicClient implements Client {
         JsonBrowser titleElement = playlist.get("title");
         String title = titleElement.isNull() ? "YouTube mix" : titleElement.text();
 
-        List<AudioTrack> tracks = playlist.get("contents").values().stream()
-            .map(item -> extractAudioTrack(item.get("playlistPanelVideoRenderer"), source))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        List<AudioTrack> tracks = extractAudioTracks(MIX_VIDEOS_PATH, playlist, source);
 
         if (tracks.isEmpty()) {
             // This isn't a CannotBeLoaded exception as if the response JSON changes, another
@@ -486,7 +574,7 @@ public abstract class NonMusicClient implements Client {
             request.setEntity(new StringEntity(clientConfig.toJsonString(), "UTF-8"));
 
             try {
-                JsonBrowser continuationJson = loadJsonResponse(httpInterface, request, "playlist response");
+                JsonBrowser continuationJson = loadJsonResponse(httpInterface, request, "playlist response", getBrowseResponseSelection());
                 playlistVideoList = extractPlaylistContinuationVideos(continuationJson);
                 continuationsToken = extractPlaylistContinuationToken(playlistVideoList);
                 extractPlaylistTracks(playlistVideoList, tracks, source);
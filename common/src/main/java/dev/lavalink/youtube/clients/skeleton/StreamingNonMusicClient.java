@@ -7,6 +7,7 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import dev.lavalink.youtube.CannotBeLoaded;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
 import dev.lavalink.youtube.cipher.SignatureCipherManager.CachedPlayerScript;
+import dev.lavalink.youtube.track.format.ByteRange;
 import dev.lavalink.youtube.track.format.StreamFormat;
 import dev.lavalink.youtube.track.format.TrackFormats;
 import org.apache.http.entity.ContentType;
@@ -15,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -68,7 +70,8 @@ public abstract class StreamingNonMusicClient extends NonMusicClient {
             log.warn("Loading formats either failed to load or were skipped due to missing fields, json: {}", streamingData.format());
         }
 
-        return new TrackFormats(formats, playerScript.url);
+        String hlsManifestUrl = streamingData.get("hlsManifestUrl").text();
+        return new TrackFormats(formats, playerScript.url, hlsManifestUrl != null ? URI.create(hlsManifestUrl) : null);
     }
 
     protected boolean extractFormat(JsonBrowser formatJson,
@@ -115,7 +118,9 @@ public abstract class StreamingNonMusicClient extends NonMusicClient {
                 cipherInfo.get("s"),
                 cipherInfo.getOrDefault("sp", DEFAULT_SIGNATURE_KEY),
                 formatJson.get("audioTrack").get("audioIsDefault").asBoolean(true),
-                formatJson.get("isDrc").asBoolean(false)
+                formatJson.get("isDrc").asBoolean(false),
+                ByteRange.fromJson(formatJson.get("initRange")),
+                ByteRange.fromJson(formatJson.get("indexRange"))
             ));
 
             return true;
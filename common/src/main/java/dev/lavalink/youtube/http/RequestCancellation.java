@@ -0,0 +1,42 @@
+package dev.lavalink.youtube.http;
+
+import org.apache.http.client.methods.HttpUriRequest;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Aborts the requests of a load that is no longer needed, so that it stops waiting for responses. Set on an
+ * HTTP context with {@link #ATTRIBUTE}, {@link YoutubeHttpContextFilter} then tracks every request made with it.
+ */
+public class RequestCancellation {
+    public static final String ATTRIBUTE = "yt-request-cancellation";
+
+    private HttpUriRequest current;
+    private boolean cancelled;
+
+    /**
+     * @param request The request that is about to be executed, aborted right away if already cancelled.
+     */
+    public synchronized void track(@NotNull HttpUriRequest request) {
+        current = request;
+
+        if (cancelled) {
+            request.abort();
+        }
+    }
+
+    /**
+     * Aborts the request in flight, and any request made after it.
+     */
+    public void cancel() {
+        HttpUriRequest request;
+
+        synchronized (this) {
+            cancelled = true;
+            request = current;
+        }
+
+        if (request != null) {
+            request.abort();
+        }
+    }
+}
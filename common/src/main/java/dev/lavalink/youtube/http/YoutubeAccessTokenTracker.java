@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class YoutubeAccessTokenTracker {
   private static final Logger log = LoggerFactory.getLogger(YoutubeAccessTokenTracker.class);
@@ -23,7 +24,7 @@ public class YoutubeAccessTokenTracker {
   private static final String TOKEN_FETCH_CONTEXT_ATTRIBUTE = "yt-raw";
   private static final long VISITOR_ID_REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(10);
 
-  private final Object tokenLock = new Object();
+  private final ReentrantLock tokenLock = new ReentrantLock();
   private final HttpInterfaceManager httpInterfaceManager;
   private String visitorId;
   private long lastVisitorIdUpdate;
@@ -39,7 +40,9 @@ public class YoutubeAccessTokenTracker {
     long now = System.currentTimeMillis();
 
     if (visitorId == null || now - lastVisitorIdUpdate < VISITOR_ID_REFRESH_INTERVAL) {
-      synchronized (tokenLock) {
+      tokenLock.lock();
+
+      try {
         if (now - lastVisitorIdUpdate < VISITOR_ID_REFRESH_INTERVAL) {
           log.debug("YouTube visitor id was recently updated, not updating again right away.");
           return visitorId;
@@ -56,6 +59,8 @@ public class YoutubeAccessTokenTracker {
         } catch (Exception e) {
           log.error("YouTube visitor id update failed.", e);
         }
+      } finally {
+        tokenLock.unlock();
       }
     }
 
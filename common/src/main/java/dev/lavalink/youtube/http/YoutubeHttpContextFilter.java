@@ -57,6 +57,12 @@ public class YoutubeHttpContextFilter extends BaseYoutubeHttpContextFilter {
       context.removeAttribute(ATTRIBUTE_RESET_RETRY);
     }
 
+    RequestCancellation cancellation = context.getAttribute(RequestCancellation.ATTRIBUTE, RequestCancellation.class);
+
+    if (cancellation != null) {
+      cancellation.track(request);
+    }
+
     retryCounter.handleUpdate(context, isRepetition);
 
     if (tokenTracker.isTokenFetchContext(context)) {
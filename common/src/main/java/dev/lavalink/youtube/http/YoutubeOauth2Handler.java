@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class YoutubeOauth2Handler {
     private static final Logger log = LoggerFactory.getLogger(YoutubeOauth2Handler.class);
@@ -38,6 +39,7 @@ public class YoutubeOauth2Handler {
     public static final String OAUTH_INJECT_CONTEXT_ATTRIBUTE = "yt-oauth-token";
 
     private final HttpInterfaceManager httpInterfaceManager;
+    private final ReentrantLock tokenLock = new ReentrantLock();
 
     private boolean enabled;
     private String refreshToken;
@@ -203,7 +205,9 @@ public class YoutubeOauth2Handler {
             return;
         }
 
-        synchronized (this) {
+        tokenLock.lock();
+
+        try {
             if (DataFormatTools.isNullOrEmpty(refreshToken)) {
                 throw new IllegalStateException("Cannot fetch access token without a refresh token!");
             }
@@ -221,6 +225,8 @@ public class YoutubeOauth2Handler {
             } catch (Exception e) {
                 throw e;
             }
+        } finally {
+            tokenLock.unlock();
         }
     }
 
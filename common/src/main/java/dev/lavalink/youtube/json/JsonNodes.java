@@ -0,0 +1,98 @@
+package dev.lavalink.youtube.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves between {@link JsonBrowser} and the Jackson tree below it without copying. JsonBrowser has no public way
+ * to wrap a node, so nodes are wrapped by putting them into a list owned by a browser and taking them out again.
+ * Each thread has its own list, which is empty between calls.
+ */
+final class JsonNodes {
+    private static final ThreadLocal<Holder> holders = ThreadLocal.withInitial(Holder::new);
+
+    private JsonNodes() {
+
+    }
+
+    /**
+     * @return The node of the browser, or null for a null browser.
+     */
+    @Nullable
+    static JsonNode unwrap(@NotNull JsonBrowser json) {
+        // For a node, treeToValue returns the node itself.
+        return json.isNull() ? null : json.as(JsonNode.class);
+    }
+
+    /**
+     * @param node The node, null if there is none.
+     * @return A browser over the node, a null browser if there is no node or it is a JSON null.
+     */
+    @NotNull
+    static JsonBrowser wrap(@Nullable JsonNode node) {
+        if (node == null || node.isNull()) {
+            return JsonBrowser.NULL_BROWSER;
+        }
+
+        Holder holder = holders.get();
+        holder.list.add(node);
+
+        try {
+            return holder.browser.index(0);
+        } finally {
+            holder.list.removeAll();
+        }
+    }
+
+    /**
+     * @return The list of this thread whose nodes are wrapped by {@link #wrapAll()}. It is empty unless nodes were
+     *         added since the last call to that method.
+     */
+    @NotNull
+    static ArrayNode pending() {
+        return holders.get().list;
+    }
+
+    /**
+     * @return Browsers over the nodes added to {@link #pending()}, in the order they were added. The list is emptied.
+     */
+    @NotNull
+    static List<JsonBrowser> wrapAll() {
+        Holder holder = holders.get();
+        List<JsonBrowser> values = new ArrayList<>(holder.list.size());
+
+        try {
+            for (int i = 0; i < holder.list.size(); i++) {
+                values.add(holder.browser.index(i));
+            }
+
+            return values;
+        } finally {
+            holder.list.removeAll();
+        }
+    }
+
+    private static class Holder {
+        private final JsonBrowser browser;
+        // The node of the browser, kept to not look it up through the object mapper on every call.
+        private final ArrayNode list;
+
+        private Holder() {
+            try {
+                browser = JsonBrowser.newList();
+            } catch (IOException e) {
+                throw ExceptionTools.toRuntimeException(e);
+            }
+
+            list = browser.as(ArrayNode.class);
+        }
+    }
+}
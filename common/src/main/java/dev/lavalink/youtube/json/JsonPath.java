@@ -0,0 +1,213 @@
+package dev.lavalink.youtube.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path into a JSON document, parsed once and then evaluated against any number of documents.
+ * Paths are made of object keys separated by dots, array elements are selected with {@code [n]},
+ * and {@code [*]} selects every element of an array, for example
+ * {@code contents.sectionListRenderer.contents[*].itemSectionRenderer.contents[0]}.
+ * Evaluation stops at the first missing value, like a chain of {@link JsonBrowser#get(String)} calls would
+ * end in a null browser. Paths are evaluated on the Jackson tree below the browser, and only the values found
+ * are wrapped in browsers, rather than every step along the way.
+ */
+public class JsonPath {
+    private static final int ALL_ELEMENTS = -1;
+
+    private final String path;
+    private final String[] keys;
+    private final int[] indexes;
+
+    private JsonPath(String path, String[] keys, int[] indexes) {
+        this.path = path;
+        this.keys = keys;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @param path The path, see {@link JsonPath}.
+     * @throws IllegalArgumentException If the path is malformed.
+     */
+    @NotNull
+    public static JsonPath compile(@NotNull String path) {
+        List<String> keys = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int position = 0;
+
+        while (position < path.length()) {
+            char c = path.charAt(position);
+
+            if (c == '.') {
+                position++;
+            } else if (c == '[') {
+                int end = path.indexOf(']', position);
+
+                if (end == -1) {
+                    throw new IllegalArgumentException("Unclosed index in JSON path " + path);
+                }
+
+                String index = path.substring(position + 1, end);
+                keys.add(null);
+                indexes.add("*".equals(index) ? ALL_ELEMENTS : parseIndex(path, index));
+                position = end + 1;
+            } else {
+                int end = position;
+
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+
+                keys.add(path.substring(position, end));
+                indexes.add(0);
+                position = end;
+            }
+        }
+
+        int[] indexArray = new int[indexes.size()];
+
+        for (int i = 0; i < indexArray.length; i++) {
+            indexArray[i] = indexes.get(i);
+        }
+
+        return new JsonPath(path, keys.toArray(new String[0]), indexArray);
+    }
+
+    /**
+     * @return The value at this path, or a null browser if there is none. For a path with {@code [*]},
+     *         the first value that exists.
+     */
+    @NotNull
+    public JsonBrowser get(@NotNull JsonBrowser json) {
+        return JsonNodes.wrap(find(JsonNodes.unwrap(json), 0));
+    }
+
+    /**
+     * @return The text of the value at this path, or null if there is none.
+     */
+    @Nullable
+    public String text(@NotNull JsonBrowser json) {
+        JsonNode node = find(JsonNodes.unwrap(json), 0);
+
+        if (node != null && node.isTextual()) {
+            return node.textValue();
+        }
+
+        // Numbers and booleans as JsonBrowser formats them.
+        return JsonNodes.wrap(node).text();
+    }
+
+    /**
+     * @return All the values at this path that exist, in document order.
+     */
+    @NotNull
+    public List<JsonBrowser> getAll(@NotNull JsonBrowser json) {
+        ArrayNode values = JsonNodes.pending();
+
+        try {
+            collect(JsonNodes.unwrap(json), 0, values);
+        } catch (RuntimeException e) {
+            values.removeAll();
+            throw e;
+        }
+
+        return JsonNodes.wrapAll();
+    }
+
+    /**
+     * @return The first value at this path below the given segment, null if there is none.
+     */
+    @Nullable
+    private JsonNode find(@Nullable JsonNode current, int segment) {
+        for (int i = segment; i < keys.length; i++) {
+            // A JSON null has no keys or elements either.
+            if (current == null) {
+                return null;
+            }
+
+            if (keys[i] != null) {
+                current = current.get(keys[i]);
+            } else if (indexes[i] != ALL_ELEMENTS) {
+                current = current.get(indexes[i]);
+            } else if (current.isArray()) {
+                for (int j = 0; j < current.size(); j++) {
+                    JsonNode found = find(current.get(j), i + 1);
+
+                    if (found != null) {
+                        return found;
+                    }
+                }
+
+                return null;
+            } else {
+                for (JsonNode element : current) {
+                    JsonNode found = find(element, i + 1);
+
+                    if (found != null) {
+                        return found;
+                    }
+                }
+
+                return null;
+            }
+        }
+
+        return current == null || current.isNull() ? null : current;
+    }
+
+    private void collect(@Nullable JsonNode current, int segment, ArrayNode values) {
+        for (int i = segment; i < keys.length; i++) {
+            if (current == null) {
+                return;
+            }
+
+            if (keys[i] != null) {
+                current = current.get(keys[i]);
+            } else if (indexes[i] != ALL_ELEMENTS) {
+                current = current.get(indexes[i]);
+            } else if (current.isArray()) {
+                for (int j = 0; j < current.size(); j++) {
+                    collect(current.get(j), i + 1, values);
+                }
+
+                return;
+            } else {
+                // Like JsonBrowser.values(), the values of an object are its elements too.
+                for (JsonNode element : current) {
+                    collect(element, i + 1, values);
+                }
+
+                return;
+            }
+        }
+
+        if (current != null && !current.isNull()) {
+            values.add(current);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private static int parseIndex(String path, String index) {
+        try {
+            int value = Integer.parseInt(index);
+
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid index " + index + " in JSON path " + path, e);
+        }
+
+        throw new IllegalArgumentException("Invalid index " + index + " in JSON path " + path);
+    }
+}
@@ -0,0 +1,196 @@
+package dev.lavalink.youtube.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of a JSON document to keep when parsing it. The document is read token by token, and only the
+ * selected paths are built into a tree, everything else is skipped without being materialised. Paths are
+ * made of object keys separated by dots, {@code *} matches any key. Arrays do not take up a path segment,
+ * the rest of the path applies to each of their elements. Whatever lies below the end of a path is kept,
+ * except for the keys set with {@link Builder#skipKeys(String...)}, which are dropped at any depth.
+ */
+public class JsonSelection {
+    private static final JsonFactory factory = new JsonFactory();
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    private static final String WILDCARD = "*";
+
+    private final Segment root;
+    private final Set<String> skippedKeys;
+
+    private JsonSelection(Segment root, Set<String> skippedKeys) {
+        this.root = root;
+        this.skippedKeys = skippedKeys;
+    }
+
+    /**
+     * @param input The JSON document, it is read to the end but not closed.
+     * @return The selected parts of the document.
+     */
+    @NotNull
+    public JsonBrowser read(@NotNull InputStream input) throws IOException {
+        try (JsonParser parser = factory.createParser(input)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * @param json The JSON document.
+     * @return The selected parts of the document.
+     */
+    @NotNull
+    public JsonBrowser read(@NotNull String json) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    private JsonBrowser read(JsonParser parser) throws IOException {
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+        if (parser.nextToken() == null) {
+            return JsonBrowser.NULL_BROWSER;
+        }
+
+        return JsonNodes.wrap(readValue(parser, root));
+    }
+
+    /**
+     * @param segment The selection below the current value, null to keep all of it.
+     */
+    private JsonNode readValue(JsonParser parser, Segment segment) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return readObject(parser, segment);
+            case START_ARRAY:
+                ArrayNode array = nodes.arrayNode();
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(readValue(parser, segment));
+                }
+
+                return array;
+            case VALUE_STRING:
+                return nodes.textNode(parser.getText());
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return nodes.numberNode(parser.getIntValue());
+                    case LONG:
+                        return nodes.numberNode(parser.getLongValue());
+                    default:
+                        return nodes.numberNode(parser.getBigIntegerValue());
+                }
+            case VALUE_NUMBER_FLOAT:
+                return nodes.numberNode(parser.getDoubleValue());
+            case VALUE_TRUE:
+                return nodes.booleanNode(true);
+            case VALUE_FALSE:
+                return nodes.booleanNode(false);
+            default:
+                return nodes.nullNode();
+        }
+    }
+
+    private ObjectNode readObject(JsonParser parser, Segment segment) throws IOException {
+        ObjectNode object = nodes.objectNode();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            parser.nextToken();
+
+            if (skippedKeys.contains(key)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (segment == null) {
+                object.set(key, readValue(parser, null));
+                continue;
+            }
+
+            Segment child = segment.children.get(key);
+
+            if (child == null) {
+                child = segment.children.get(WILDCARD);
+            }
+
+            if (child == null) {
+                parser.skipChildren();
+            } else {
+                object.set(key, readValue(parser, child.keepAll ? null : child));
+            }
+        }
+
+        return object;
+    }
+
+    /**
+     * @return A builder for a selection that keeps nothing until paths are added to it.
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static class Segment {
+        private final Map<String, Segment> children = new HashMap<>();
+        private boolean keepAll;
+    }
+
+    public static class Builder {
+        private final Segment root = new Segment();
+        private final Set<String> skippedKeys = new HashSet<>();
+
+        /**
+         * @param path The path of a value to keep, with all of its contents.
+         */
+        @NotNull
+        public Builder keep(@NotNull String path) {
+            Segment segment = root;
+
+            for (String key : path.split("\\.")) {
+                if (segment.keepAll) {
+                    // Already kept as a whole by a shorter path.
+                    return this;
+                }
+
+                segment = segment.children.computeIfAbsent(key, k -> new Segment());
+            }
+
+            segment.keepAll = true;
+            segment.children.clear();
+            return this;
+        }
+
+        /**
+         * @param keys Keys to drop wherever they appear, even below the end of a kept path.
+         */
+        @NotNull
+        public Builder skipKeys(@NotNull String... keys) {
+            skippedKeys.addAll(Arrays.asList(keys));
+            return this;
+        }
+
+        @NotNull
+        public JsonSelection build() {
+            return new JsonSelection(root, Collections.unmodifiableSet(new HashSet<>(skippedKeys)));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.lavalink.youtube.polyfill;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates numbered daemon threads. Lavaplayer has one too, but it moved to another package in 2.0, so it cannot be
+ * used from code that runs with both major versions.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+    private final String name;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * @param name The name of the threads, followed by their number.
+     */
+    public DaemonThreadFactory(@NotNull String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Thread newThread(@NotNull Runnable runnable) {
+        Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.lavalink.youtube.polyfill;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads (Java 21 and newer) from code that is compiled for older versions.
+ */
+public class VirtualThreads {
+    private static final Method NEW_EXECUTOR = findExecutorFactory();
+
+    /**
+     * @return True if the runtime supports virtual threads.
+     */
+    public static boolean isAvailable() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * @return An executor that starts a new virtual thread for each task, or null if the runtime does not
+     * support virtual threads.
+     */
+    @Nullable
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (NEW_EXECUTOR == null) {
+            return null;
+        }
+
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method findExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
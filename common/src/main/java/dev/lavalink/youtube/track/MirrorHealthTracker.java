@@ -0,0 +1,80 @@
+package dev.lavalink.youtube.track;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of googlevideo mirror nodes (as listed in the {@code mn} parameter of playback URLs)
+ * that recently failed to serve a stream, so that subsequent tracks can start on the fallback mirror
+ * instead of repeating the same failure.
+ */
+public class MirrorHealthTracker {
+    private static final Logger log = LoggerFactory.getLogger(MirrorHealthTracker.class);
+
+    private static final long DEFAULT_COOLDOWN_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_TRACKED_HOSTS = 512;
+
+    private final Map<String, Long> failedHosts = new ConcurrentHashMap<>();
+    private final long cooldownMs;
+
+    public MirrorHealthTracker() {
+        this(DEFAULT_COOLDOWN_MS);
+    }
+
+    /**
+     * @param cooldownMs How long a mirror is avoided for after it has failed.
+     */
+    public MirrorHealthTracker(long cooldownMs) {
+        this.cooldownMs = cooldownMs;
+    }
+
+    /**
+     * Records a failure (connect failure, 5xx response...) of the given mirror.
+     * @param host The mirror node that failed.
+     */
+    public void markFailure(@NotNull String host) {
+        long now = System.currentTimeMillis();
+
+        if (failedHosts.size() >= MAX_TRACKED_HOSTS) {
+            failedHosts.values().removeIf(failedAt -> now - failedAt >= cooldownMs);
+        }
+
+        if (failedHosts.put(host, now) == null) {
+            log.debug("Marked mirror {} as unhealthy for {} ms", host, cooldownMs);
+        }
+    }
+
+    /**
+     * Records a successful stream from the given mirror, clearing any previous failure.
+     * @param host The mirror node that served the stream.
+     */
+    public void markSuccess(@NotNull String host) {
+        if (failedHosts.remove(host) != null) {
+            log.debug("Mirror {} recovered", host);
+        }
+    }
+
+    /**
+     * @param host The mirror node to check.
+     * @return False if the mirror has failed within the cooldown period.
+     */
+    public boolean isHealthy(@NotNull String host) {
+        Long failedAt = failedHosts.get(host);
+
+        if (failedAt == null) {
+            return true;
+        }
+
+        if (System.currentTimeMillis() - failedAt >= cooldownMs) {
+            failedHosts.remove(host, failedAt);
+            return true;
+        }
+
+        return false;
+    }
+}
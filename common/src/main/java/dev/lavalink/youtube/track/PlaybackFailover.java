@@ -0,0 +1,74 @@
+package dev.lavalink.youtube.track;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Decides whether a track whose stream failed during playback should be resumed with a renewed URL,
+ * and from which position. One instance is used for each time a track is played.
+ */
+public class PlaybackFailover {
+    private final int maxAttempts;
+    private final boolean live;
+    private int attempts;
+    private long resumePosition;
+
+    /**
+     * @param maxAttempts The maximum number of times playback is resumed.
+     * @param live Whether the track is a livestream, which resumes from the live edge rather than a position.
+     */
+    public PlaybackFailover(int maxAttempts, boolean live) {
+        this.maxAttempts = maxAttempts;
+        this.live = live;
+    }
+
+    /**
+     * @param failure The exception the stream failed with, checked or not.
+     * @param position The playback position at which the stream failed.
+     * @return True if playback should be resumed from {@link #getResumePosition()}.
+     */
+    public boolean onFailure(@NotNull Throwable failure, long position) {
+        if (position <= 0 || attempts >= maxAttempts || !isStreamFailure(failure)) {
+            return false;
+        }
+
+        attempts++;
+        resumePosition = live ? 0 : position;
+        return true;
+    }
+
+    /**
+     * @return The number of times playback was resumed so far.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return The position to resume playback from, 0 if playback starts from the beginning (or the live edge).
+     */
+    public long getResumePosition() {
+        return resumePosition;
+    }
+
+    /**
+     * @return True if the exception was caused by the stream itself (network errors, non-success
+     * status codes) rather than by the video being unavailable.
+     */
+    public static boolean isStreamFailure(@NotNull Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+
+            String message = cause.getMessage();
+
+            if (message != null && message.startsWith("Not success status code: ")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
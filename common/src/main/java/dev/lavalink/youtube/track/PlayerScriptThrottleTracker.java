@@ -0,0 +1,96 @@
+package dev.lavalink.youtube.track;
+
+import dev.lavalink.youtube.YoutubeSource;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the player scripts that produced throttled stream URLs, which means that their {@code n}
+ * function could not be run correctly. URLs from these scripts are avoided when a throttled stream is
+ * re-resolved, and the counts show which script versions need fixing. A single slow stream may just as well
+ * be caused by the network, so a script is only considered throttling once several distinct streams resolved
+ * with it were throttled within a short window, or once its {@code n} function is known to have failed.
+ */
+public class PlayerScriptThrottleTracker {
+    private static final Logger log = LoggerFactory.getLogger(PlayerScriptThrottleTracker.class);
+
+    private static final int MAX_TRACKED_SCRIPTS = 64;
+    private static final int CORROBORATING_STREAMS = 3;
+    private static final long CORROBORATION_WINDOW_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<String, AtomicInteger> throttledScripts = new ConcurrentHashMap<>();
+    // Streams reported as throttled per script that is not yet considered throttling, with the time of the report.
+    private final Map<String, Map<String, Long>> reports = new ConcurrentHashMap<>();
+
+    /**
+     * Records a throttled stream URL.
+     * @param playerScriptUrl The player script the URL was resolved with.
+     * @param streamId Identifies the stream, such as its video ID and itag. Repeated reports of the same stream
+     *                 only count once towards corroborating the script.
+     * @param transformFailed Whether the {@code n} parameter of the URL was not transformed, which is enough on
+     *                        its own to blame the script.
+     * @return True if the script is now considered to produce throttled URLs.
+     */
+    public boolean markThrottled(@NotNull String playerScriptUrl, @NotNull String streamId, boolean transformFailed) {
+        if (!transformFailed && !throttledScripts.containsKey(playerScriptUrl) && !isCorroborated(playerScriptUrl, streamId)) {
+            return false;
+        }
+
+        reports.remove(playerScriptUrl);
+
+        if (throttledScripts.size() >= MAX_TRACKED_SCRIPTS && !throttledScripts.containsKey(playerScriptUrl)) {
+            // Player scripts are rotated every few days, the old ones will not be seen again.
+            throttledScripts.clear();
+        }
+
+        int count = throttledScripts.computeIfAbsent(playerScriptUrl, k -> new AtomicInteger()).incrementAndGet();
+
+        if (count == 1) {
+            log.warn("Player script {} produced a throttled stream URL, its n function is likely not handled correctly (source version: {})",
+                playerScriptUrl, YoutubeSource.VERSION);
+        }
+
+        return true;
+    }
+
+    private boolean isCorroborated(String playerScriptUrl, String streamId) {
+        if (reports.size() >= MAX_TRACKED_SCRIPTS && !reports.containsKey(playerScriptUrl)) {
+            reports.clear();
+        }
+
+        Map<String, Long> streams = reports.computeIfAbsent(playerScriptUrl, k -> new HashMap<>());
+        long now = System.currentTimeMillis();
+
+        synchronized (streams) {
+            streams.values().removeIf(reportedAt -> now - reportedAt > CORROBORATION_WINDOW_MS);
+            streams.put(streamId, now);
+            return streams.size() >= CORROBORATING_STREAMS;
+        }
+    }
+
+    /**
+     * @param playerScriptUrl The player script to check.
+     * @return True if a URL resolved with the player script was throttled.
+     */
+    public boolean isThrottling(@NotNull String playerScriptUrl) {
+        return throttledScripts.containsKey(playerScriptUrl);
+    }
+
+    /**
+     * @return The number of throttled stream URLs per player script.
+     */
+    @NotNull
+    public Map<String, Integer> getThrottledCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        throttledScripts.forEach((url, count) -> counts.put(url, count.get()));
+        return Collections.unmodifiableMap(counts);
+    }
+}
@@ -0,0 +1,209 @@
+package dev.lavalink.youtube.track;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The chunks of a single format that are being played by several tracks at once. The first track to ask for a
+ * chunk downloads it, any other track asking for it in the meantime waits for that download instead of starting
+ * its own. A chunk is kept until every reader of the feed has moved past it, as readers behind will still need
+ * it, and dropped once none of them does.
+ */
+public class SharedChunkFeed {
+    private final ConcurrentNavigableMap<Long, Chunk> chunks = new ConcurrentSkipListMap<>();
+    private final Map<Reader, Long> cursors = new HashMap<>();
+    private final SharedChunkHub hub;
+    private final String key;
+
+    // guarded by SharedChunkHub#feeds
+    int listeners;
+
+    SharedChunkFeed(@NotNull SharedChunkHub hub, @NotNull String key) {
+        this.hub = hub;
+        this.key = key;
+    }
+
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    Reader openReader() {
+        Reader reader = new Reader();
+
+        synchronized (cursors) {
+            cursors.put(reader, 0L);
+        }
+
+        return reader;
+    }
+
+    void clear() {
+        Map.Entry<Long, Chunk> entry;
+
+        while ((entry = chunks.pollFirstEntry()) != null) {
+            entry.getValue().free();
+        }
+    }
+
+    private byte[] getChunk(long index, ChunkLoader loader) throws IOException, InterruptedException {
+        Chunk pending = new Chunk();
+        Chunk existing = chunks.putIfAbsent(index, pending);
+
+        if (existing == null) {
+            return load(index, pending, loader);
+        }
+
+        try {
+            return await(existing.data);
+        } catch (IOException | RuntimeException e) {
+            // The other track's URL may have expired or been blocked while this one's is still valid.
+            Chunk retry = new Chunk();
+            existing = chunks.putIfAbsent(index, retry);
+            return existing != null ? await(existing.data) : load(index, retry, loader);
+        }
+    }
+
+    private byte[] load(long index, Chunk pending, ChunkLoader loader) throws IOException {
+        byte[] data;
+
+        try {
+            data = loader.load();
+        } catch (IOException | RuntimeException e) {
+            chunks.remove(index, pending);
+            pending.data.completeExceptionally(e);
+            throw e;
+        }
+
+        if (hub.reserve(data.length)) {
+            pending.reservedBytes.set(data.length);
+
+            if (chunks.get(index) != pending) {
+                // Trimmed while it was loading.
+                pending.free();
+            }
+        } else {
+            // Over the memory limit, only tracks already waiting for this chunk get it.
+            chunks.remove(index, pending);
+        }
+
+        pending.data.complete(data);
+        return data;
+    }
+
+    private void trim() {
+        long first;
+
+        synchronized (cursors) {
+            first = cursors.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+        }
+
+        Map.Entry<Long, Chunk> entry;
+
+        while ((entry = chunks.firstEntry()) != null && entry.getKey() < first) {
+            if (chunks.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().free();
+            }
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    private class Chunk {
+        private final CompletableFuture<byte[]> data = new CompletableFuture<>();
+        // Set once the chunk is kept in memory, taken by whichever of the loader and trimming drops it first.
+        private final AtomicInteger reservedBytes = new AtomicInteger();
+
+        private void free() {
+            int bytes = reservedBytes.getAndSet(0);
+
+            if (bytes > 0) {
+                hub.free(bytes);
+            }
+        }
+    }
+
+    /**
+     * The position of a single track within the feed.
+     */
+    public class Reader implements Closeable {
+        private boolean closed;
+
+        /**
+         * @param index The index of the chunk, its data starts at {@code index * SharedChunkHub.CHUNK_SIZE}.
+         * @param loader Downloads the chunk if no other track has done so yet.
+         * @return The chunk data.
+         */
+        @NotNull
+        public byte[] getChunk(long index, @NotNull ChunkLoader loader) throws IOException, InterruptedException {
+            synchronized (cursors) {
+                cursors.put(this, index);
+            }
+
+            trim();
+            return SharedChunkFeed.this.getChunk(index, loader);
+        }
+
+        /**
+         * Moves this reader to a chunk without loading it, for a track that reads it over its own connection.
+         * @param index The index of the chunk the track is reading.
+         * @return True if other readers are open on the feed, so that chunks are better read through it.
+         */
+        public boolean moveTo(long index) {
+            boolean shared;
+
+            synchronized (cursors) {
+                cursors.put(this, index);
+                shared = cursors.size() > 1;
+            }
+
+            trim();
+            return shared;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            synchronized (cursors) {
+                cursors.remove(this);
+            }
+
+            trim();
+            hub.release(SharedChunkFeed.this);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChunkLoader {
+        @NotNull
+        byte[] load() throws IOException;
+    }
+}
@@ -0,0 +1,93 @@
+package dev.lavalink.youtube.track;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node registry of {@link SharedChunkFeed}s, so that tracks playing the same format at the same time
+ * download each chunk of it only once. Feeds are reference counted and dropped once the last track using
+ * them has finished. The chunks of all feeds together are kept below a memory limit, chunks beyond it are
+ * still handed to the track that loaded them (and any track waiting for it), but not kept for later readers.
+ */
+public class SharedChunkHub {
+    private static final Logger log = LoggerFactory.getLogger(SharedChunkHub.class);
+
+    public static final int CHUNK_SIZE = 256 * 1024;
+
+    private final Map<String, SharedChunkFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final long maxBytes;
+
+    /**
+     * @param maxBytes The maximum total size of the chunks kept in memory.
+     */
+    public SharedChunkHub(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Opens a reader on the feed of the given format, creating the feed if necessary. The reader must be closed
+     * once the caller stops reading.
+     * @param videoId The ID of the video.
+     * @param itag The itag of the format being played.
+     * @param contentLength The length of the format in bytes.
+     */
+    @NotNull
+    public SharedChunkFeed.Reader open(@NotNull String videoId, int itag, long contentLength) {
+        SharedChunkFeed feed = feeds.compute(videoId + ":" + itag + ":" + contentLength, (k, existing) -> {
+            if (existing == null) {
+                log.debug("Opening shared chunk feed for {}", k);
+                existing = new SharedChunkFeed(this, k);
+            }
+
+            existing.listeners++;
+            return existing;
+        });
+
+        return feed.openReader();
+    }
+
+    /**
+     * @return The total size of the chunks currently kept in memory.
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * @return The number of formats that currently have a shared feed.
+     */
+    public int getFeedCount() {
+        return feeds.size();
+    }
+
+    void release(@NotNull SharedChunkFeed feed) {
+        feeds.computeIfPresent(feed.getKey(), (k, existing) -> {
+            if (existing != feed || --existing.listeners > 0) {
+                return existing;
+            }
+
+            log.debug("Closing shared chunk feed for {}", k);
+            feed.clear();
+            return null;
+        });
+    }
+
+    boolean reserve(int bytes) {
+        if (usedBytes.addAndGet(bytes) <= maxBytes) {
+            return true;
+        }
+
+        usedBytes.addAndGet(-bytes);
+        return false;
+    }
+
+    void free(int bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+}
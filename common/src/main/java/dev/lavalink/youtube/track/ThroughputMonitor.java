@@ -0,0 +1,70 @@
+package dev.lavalink.youtube.track;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Measures the rate at which a stream is downloaded, to detect URLs that YouTube throttles to roughly real-time
+ * speed (which happens when the {@code n} parameter was not transformed correctly). Only the time spent waiting
+ * for the network is counted, as reads are otherwise paced by playback and would always look real-time.
+ */
+public class ThroughputMonitor {
+    // Blocked time to measure over before judging, short waits are dominated by latency rather than rate.
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final long minBytesPerSecond;
+    private final LongConsumer onThrottled;
+    private long bytes;
+    private long nanos;
+    private long lastBytesPerSecond = -1;
+
+    /**
+     * @param minBytesPerSecond The rate below which the stream is considered throttled.
+     * @param onThrottled Called with the measured rate, from the reading thread, every time a measurement window
+     *                    ends below the minimum rate.
+     */
+    public ThroughputMonitor(long minBytesPerSecond, @NotNull LongConsumer onThrottled) {
+        this.minBytesPerSecond = minBytesPerSecond;
+        this.onThrottled = onThrottled;
+    }
+
+    /**
+     * Records a network read.
+     * @param byteCount The number of bytes read.
+     * @param elapsedNanos The time the read was blocked for.
+     */
+    public void record(long byteCount, long elapsedNanos) {
+        bytes += Math.max(byteCount, 0);
+        nanos += elapsedNanos;
+
+        if (nanos < WINDOW_NANOS) {
+            return;
+        }
+
+        long bytesPerSecond = bytes * TimeUnit.SECONDS.toNanos(1) / nanos;
+        lastBytesPerSecond = bytesPerSecond;
+        bytes = 0;
+        nanos = 0;
+
+        if (bytesPerSecond < minBytesPerSecond) {
+            onThrottled.accept(bytesPerSecond);
+        }
+    }
+
+    /**
+     * Discards the current measurement, for example after switching to another URL.
+     */
+    public void reset() {
+        bytes = 0;
+        nanos = 0;
+    }
+
+    /**
+     * @return The rate measured over the last complete window in bytes per second, -1 if there was none yet.
+     */
+    public long getLastBytesPerSecond() {
+        return lastBytesPerSecond;
+    }
+}
@@ -17,20 +17,32 @@ import dev.lavalink.youtube.ClientInformation;
 import dev.lavalink.youtube.UrlTools;
 import dev.lavalink.youtube.UrlTools.UrlInfo;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.cache.AudioFileCache;
+import dev.lavalink.youtube.cache.TieredByteCache;
 import dev.lavalink.youtube.cipher.ScriptExtractionException;
 import dev.lavalink.youtube.clients.skeleton.Client;
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
 import dev.lavalink.youtube.track.format.StreamFormat;
 import dev.lavalink.youtube.track.format.TrackFormats;
+import dev.lavalink.youtube.track.live.HlsSegmentStream;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.sedmelluq.discord.lavaplayer.container.Formats.MIME_AUDIO_WEBM;
 import static com.sedmelluq.discord.lavaplayer.tools.DataFormatTools.decodeUrlEncodedItems;
@@ -48,7 +60,21 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
   // the stream URL will not be renewed.
   public static long BAD_STREAM_POSITION_THRESHOLD_MS = 3000;
 
+  // How long before the expiry of a stream URL a replacement URL should be resolved.
+  public static long URL_RENEWAL_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
+
+  // How many other formats from the same player response are tried after a format fails, before moving on to
+  // the next client. A 403 that affects the whole client would otherwise be repeated for every format.
+  private static final int MAX_FORMAT_FALLBACKS = 2;
+  // Seek indexes of very long tracks are read through the regular connection rather than held in memory.
+  private static final long MAX_HEADER_PREFETCH_BYTES = 512 * 1024;
+  private static final String WEBM_STREAM_UNSUPPORTED = "YouTube WebM streams are currently not supported.";
+  // Unthrottled URLs download many times faster than real-time, throttled ones at around real-time.
+  private static final int THROTTLE_RATE_FACTOR = 4;
+  private static final int MAX_THROTTLE_RECOVERIES = 2;
+
   private final YoutubeAudioSourceManager sourceManager;
+  private volatile StreamFormat playbackFormat;
 
   /**
    * @param trackInfo Track info
@@ -69,6 +95,8 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
           new RuntimeException("None of the registered clients supports loading of formats"));
     }
 
+    sourceManager.trackPlayback(true);
+
     try (HttpInterface httpInterface = sourceManager.getInterface()) {
       try {
         Object userData = getUserData();
@@ -82,8 +110,12 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
         log.debug("Failed to parse token from userData", e);
       }
       Exception lastException = null;
+      Client retriedClient = null;
+      PlaybackFailover failover = new PlaybackFailover(sourceManager.getPlaybackFailoverAttempts(), trackInfo.isStream);
+
+      for (int clientIndex = 0; clientIndex < clients.length; clientIndex++) {
+        Client client = clients[clientIndex];
 
-      for (Client client : clients) {
         if (!client.supportsFormatLoading()) {
           continue;
         }
@@ -91,14 +123,34 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
         httpInterface.getContext().setAttribute(Client.OAUTH_CLIENT_ATTRIBUTE, client.supportsOAuth());
 
         try {
+          if (failover.getResumePosition() > 0) {
+            // queue a seek so that the next delegate continues from where the failed stream stopped.
+            localExecutor.setPosition(failover.getResumePosition());
+          }
+
           processWithClient(localExecutor, httpInterface, client, 0);
           return; // stream played through successfully, short-circuit.
-        } catch (RuntimeException e) {
+        } catch (Exception e) {
           // store exception so it can be thrown if we run out of clients to
-          // load formats with.
+          // load formats with. Checked exceptions (usually IOExceptions from the stream)
+          // are caught as well so that they can fail over like unchecked ones.
           e.addSuppressed(ClientInformation.create(client));
           lastException = e;
 
+          long position = localExecutor.getPosition();
+
+          if (failover.onFailure(e, position)) {
+            // renew the URL with the same client first, and only move on to the next client if that fails too.
+            if (retriedClient != client) {
+              retriedClient = client;
+              clientIndex--;
+            }
+
+            log.debug("Stream from client {} failed at position {}, failing over (attempt {}/{})",
+                client.getIdentifier(), position, failover.getAttempts(), sourceManager.getPlaybackFailoverAttempts(), e);
+            continue;
+          }
+
           if (e instanceof FriendlyException) {
             // usually thrown by getPlayabilityStatus when loading formats.
             // these aren't considered fatal, so we just store them and continue.
@@ -126,7 +178,7 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
 
       if (lastException != null) {
         if (lastException instanceof FriendlyException) {
-          if (!"YouTube WebM streams are currently not supported.".equals(lastException.getMessage())) {
+          if (!WEBM_STREAM_UNSUPPORTED.equals(lastException.getMessage())) {
             // Rethrow certain FriendlyExceptions as suspicious to ensure LavaPlayer logs them.
             throw new FriendlyException(lastException.getMessage(), Severity.SUSPICIOUS, lastException.getCause());
           }
@@ -138,6 +190,8 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       }
     } catch (CannotBeLoaded e) {
       throw ExceptionTools.wrapUnfriendlyExceptions("This video is unavailable", Severity.SUSPICIOUS, e.getCause());
+    } finally {
+      sourceManager.trackPlayback(false);
     }
   }
 
@@ -145,31 +199,164 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
                                  HttpInterface httpInterface,
                                  Client client,
                                  long streamPosition) throws CannotBeLoaded, Exception {
-    FormatWithUrl augmentedFormat = loadBestFormatWithUrl(httpInterface, client);
-    log.debug("Starting track with URL from client {}: {}", client.getIdentifier(), augmentedFormat.signedUrl);
+    TrackFormats formats = loadTrackFormats(httpInterface, client);
+
+    if (trackInfo.isStream && processHls(localExecutor, httpInterface, formats)) {
+      return;
+    }
+
+    FormatSelectionPolicy policy = sourceManager.getFormatSelectionPolicy();
+    StreamFormat format = formats.getBestFormat(policy);
+    List<StreamFormat> failedFormats = new ArrayList<>();
+
+    while (true) {
+      playbackFormat = format;
+
+      log.debug("Selected format {} (itag {}) for {}, {}", format.getType(), format.getItag(), getIdentifier(),
+          FormatSelectionPolicy.isPassthroughCompatible(format) ? "eligible for Opus passthrough" : "requires transcoding");
+
+      FormatWithUrl augmentedFormat = resolveFormatUrl(httpInterface, client, formats, format);
+      log.debug("Starting track with URL from client {}: {}", client.getIdentifier(), augmentedFormat.signedUrl);
+
+      try {
+        processFormat(localExecutor, httpInterface, client, preferHealthyMirror(augmentedFormat), streamPosition);
+        return;
+      } catch (StreamExpiredException e) {
+        processWithClient(localExecutor, httpInterface, client, e.lastStreamPosition);
+        return;
+      } catch (Exception e) {
+        long position = localExecutor.getPosition();
+
+        if (!isFormatFailure(e) || position > BAD_STREAM_POSITION_THRESHOLD_MS || failedFormats.size() >= MAX_FORMAT_FALLBACKS) {
+          throw e;
+        }
+
+        failedFormats.add(format);
+        StreamFormat next = formats.getBestFormat(policy, failedFormats);
+
+        if (next == null) {
+          throw e;
+        }
+
+        // The other formats come from the same player response, so the client only needs to be abandoned
+        // once none of them can be played either.
+        log.debug("Format {} (itag {}) of {} failed with client {}, trying itag {}", format.getType(), format.getItag(),
+            getIdentifier(), client.getIdentifier(), next.getItag(), e);
+
+        if (position > 0) {
+          // byte offsets differ between formats, so the new format starts from the beginning and seeks instead.
+          localExecutor.setPosition(position);
+        }
+
+        format = next;
+        streamPosition = 0;
+      }
+    }
+  }
+
+  private void processFormat(LocalAudioTrackExecutor localExecutor,
+                             HttpInterface httpInterface,
+                             Client client,
+                             FormatWithUrl augmentedFormat,
+                             long streamPosition) throws Exception {
+    MirrorHealthTracker mirrorTracker = sourceManager.getMirrorHealthTracker();
+    String mirror = augmentedFormat.getMirror();
 
     try {
       if (trackInfo.isStream || augmentedFormat.format.getContentLength() == CONTENT_LENGTH_UNKNOWN) {
         processStream(localExecutor, httpInterface, augmentedFormat);
       } else {
-        processStatic(localExecutor, httpInterface, augmentedFormat, streamPosition);
+        processStatic(localExecutor, httpInterface, client, augmentedFormat, streamPosition);
+      }
+
+      if (mirror != null) {
+        mirrorTracker.markSuccess(mirror);
+      }
+    } catch (MirrorFailedException e) {
+      if (mirror != null) {
+        mirrorTracker.markFailure(mirror);
       }
-    } catch (StreamExpiredException e) {
-      processWithClient(localExecutor, httpInterface, client, e.lastStreamPosition);
+
+      FormatWithUrl fallback = augmentedFormat.getFallback();
+
+      if (fallback == null) {
+        throw ExceptionTools.toRuntimeException(e.getCause());
+      }
+
+      // The signed URL is valid on every mirror listed in "mn", so there is no need to
+      // make another player request or to switch clients.
+      log.debug("Mirror {} failed, retrying with fallback mirror {}", mirror, fallback.getMirror(), e.getCause());
+      long position = localExecutor.getPosition();
+
+      if (!trackInfo.isStream && position > 0) {
+        // the demuxer of the new stream has to read the header again, so it starts from the beginning
+        // and seeks to where playback stopped instead of resuming at a raw byte offset.
+        localExecutor.setPosition(position);
+      }
+
+      processFormat(localExecutor, httpInterface, client, fallback, 0);
     }
   }
 
+  @NotNull
+  private FormatWithUrl preferHealthyMirror(@NotNull FormatWithUrl augmentedFormat) {
+    MirrorHealthTracker mirrorTracker = sourceManager.getMirrorHealthTracker();
+    String mirror = augmentedFormat.getMirror();
+
+    if (mirror == null || mirrorTracker.isHealthy(mirror)) {
+      return augmentedFormat;
+    }
+
+    FormatWithUrl fallback = augmentedFormat.getFallback();
+
+    if (fallback == null || fallback.getMirror() == null || !mirrorTracker.isHealthy(fallback.getMirror())) {
+      return augmentedFormat;
+    }
+
+    log.debug("Mirror {} recently failed, starting on fallback mirror {}", mirror, fallback.getMirror());
+    return fallback;
+  }
+
   private void processStatic(LocalAudioTrackExecutor localExecutor,
                              HttpInterface httpInterface,
+                             Client client,
                              FormatWithUrl augmentedFormat,
                              long streamPosition) throws Exception {
     YoutubePersistentHttpStream stream = null;
+    UrlRenewal renewal = null;
+    AudioFileCache.Entry cacheEntry = null;
+    SharedChunkFeed.Reader chunkReader = null;
 
     try {
-      stream = new YoutubePersistentHttpStream(httpInterface, augmentedFormat.signedUrl, augmentedFormat.format.getContentLength());
+      StreamFormat format = augmentedFormat.format;
+      stream = new YoutubePersistentHttpStream(httpInterface, augmentedFormat.signedUrl, format.getContentLength());
+      renewal = new UrlRenewal(client, stream, augmentedFormat, httpInterface.getContext().getAttribute(OAUTH_INJECT_CONTEXT_ATTRIBUTE));
+      renewal.schedule();
+
+      if (sourceManager.isThrottleRecovery() && format.getBitrate() > 0) {
+        stream.setThroughputMonitor(new ThroughputMonitor(format.getBitrate() / 8 * THROTTLE_RATE_FACTOR, renewal::onThrottled));
+      }
+
+      AudioFileCache audioFileCache = sourceManager.getAudioFileCache();
+      cacheEntry = audioFileCache != null ? audioFileCache.open(getIdentifier(), format.getItag(), format.getContentLength()) : null;
+      boolean cached = cacheEntry != null && stream.useCache(cacheEntry);
+
+      if (cached) {
+        log.debug("Playing {} (itag {}) from the audio file cache, {} copy", getIdentifier(), format.getItag(),
+            cacheEntry.isComplete() ? "complete" : "partial");
+      }
+
+      SharedChunkHub chunkHub = sourceManager.getSharedChunkHub();
+
+      if (chunkHub != null && !(cached && cacheEntry.isComplete())) {
+        chunkReader = chunkHub.open(getIdentifier(), format.getItag(), format.getContentLength());
+        stream.useSharedChunks(chunkReader);
+      }
 
       if (streamPosition > 0) {
         stream.seek(streamPosition);
+      } else if (!cached) {
+        prefetchHeader(stream, format);
       }
 
       if (augmentedFormat.format.getType().getMimeType().endsWith("/webm")) {
@@ -177,16 +364,32 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       } else {
         processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
       }
-    } catch (RuntimeException e) {
+    } catch (Exception e) {
       if ("Not success status code: 403".equals(e.getMessage()) && augmentedFormat.isExpired() && stream != null) {
         throw new StreamExpiredException(stream.getPosition(), e);
       }
 
+      if (stream != null && isMirrorFailure(e)) {
+        throw new MirrorFailedException(e);
+      }
+
       throw e;
     } finally {
+      if (renewal != null) {
+        renewal.cancel();
+      }
+
       if (stream != null) {
         stream.close();
       }
+
+      if (cacheEntry != null) {
+        cacheEntry.close();
+      }
+
+      if (chunkReader != null) {
+        chunkReader.close();
+      }
     }
   }
 
@@ -194,16 +397,120 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
                              HttpInterface httpInterface,
                              FormatWithUrl augmentedFormat) throws Exception {
     if (MIME_AUDIO_WEBM.equals(augmentedFormat.format.getType().getMimeType())) {
-      throw new FriendlyException("YouTube WebM streams are currently not supported.", Severity.COMMON, null);
+      throw new FriendlyException(WEBM_STREAM_UNSUPPORTED, Severity.COMMON, null);
     }
 
     // TODO: Catch 403 and retry? Can't use position though because it's a livestream.
-    processDelegate(new YoutubeMpegStreamAudioTrack(trackInfo, httpInterface, augmentedFormat.signedUrl), localExecutor);
+    try {
+      processDelegate(new YoutubeMpegStreamAudioTrack(trackInfo, httpInterface, augmentedFormat.signedUrl,
+          sourceManager, augmentedFormat.format.getItag()), localExecutor);
+    } catch (Exception e) {
+      if (isMirrorFailure(e)) {
+        throw new MirrorFailedException(e);
+      }
+
+      throw e;
+    }
+  }
+
+  private void prefetchHeader(@NotNull YoutubePersistentHttpStream stream, @NotNull StreamFormat format) {
+    long headerLength = format.getHeaderLength();
+
+    if (headerLength <= 0 || headerLength > MAX_HEADER_PREFETCH_BYTES) {
+      return;
+    }
+
+    TieredByteCache cache = sourceManager.getFormatHeaderCache();
+    // The content length is part of the key in case a format is ever re-encoded under the same itag.
+    String cacheKey = getIdentifier() + "_" + format.getItag() + "_" + format.getContentLength();
+    byte[] cached = cache != null ? cache.get(cacheKey) : null;
+
+    if (cached != null && cached.length == headerLength && stream.useHeader(cached)) {
+      log.debug("Using cached header and seek index for {} (itag {})", getIdentifier(), format.getItag());
+      return;
+    }
+
+    try {
+      if (stream.prefetchHeader((int) headerLength)) {
+        log.debug("Prefetched {} bytes of header and seek index for {} (itag {})", headerLength, getIdentifier(), format.getItag());
+
+        if (cache != null) {
+          cache.put(cacheKey, stream.getHeader());
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // Not fatal, the demuxer reads the header through the regular connection instead.
+      log.debug("Failed to prefetch header of {} (itag {})", getIdentifier(), format.getItag(), e);
+    }
+  }
+
+  /**
+   * @return True if the exception is specific to the format that was played (rejected with 403, or a codec
+   * that cannot be played), so that another format from the same client may still work.
+   */
+  private static boolean isFormatFailure(@NotNull Throwable throwable) {
+    String message = throwable.getMessage();
+    return "Not success status code: 403".equals(message) || WEBM_STREAM_UNSUPPORTED.equals(message);
+  }
+
+  /**
+   * @return True if the exception indicates that the googlevideo host itself could not serve the
+   * stream (connection failures, timeouts or 5xx responses), rather than the URL being invalid.
+   */
+  private static boolean isMirrorFailure(@NotNull Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException ||
+          cause instanceof SocketTimeoutException || cause instanceof NoRouteToHostException ||
+          cause instanceof UnknownHostException) {
+        return true;
+      }
+
+      String message = cause.getMessage();
+
+      if (message != null && message.startsWith("Not success status code: 5")) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Plays a livestream from its HLS manifest, if enabled and supported by the stream.
+   * @return False if the stream should be played from its formats instead.
+   */
+  private boolean processHls(LocalAudioTrackExecutor localExecutor,
+                             HttpInterface httpInterface,
+                             TrackFormats formats) throws Exception {
+    int parallelism = sourceManager.getHlsLiveStreamParallelism();
+    URI manifestUrl = formats.getHlsManifestUrl();
+
+    if (parallelism <= 0 || manifestUrl == null) {
+      return false;
+    }
+
+    try (HlsSegmentStream segmentStream = new HlsSegmentStream(httpInterface, manifestUrl,
+        sourceManager.getLiveStreamExecutor(), sourceManager::getInterface, parallelism)) {
+      try {
+        if (!segmentStream.prepare()) {
+          log.debug("HLS manifest of {} cannot be played, playing from formats instead.", trackInfo.identifier);
+          return false;
+        }
+      } catch (IOException e) {
+        // The manifest URL may be rejected (403) or expired while the format URLs still work.
+        log.debug("Failed to load HLS manifest of {}, playing from formats instead.", trackInfo.identifier, e);
+        return false;
+      }
+
+      log.debug("Starting livestream {} from HLS manifest {}", trackInfo.identifier, manifestUrl);
+      processDelegate(new YoutubeHlsStreamAudioTrack(trackInfo, segmentStream), localExecutor);
+      return true;
+    }
   }
 
   @NotNull
-  private FormatWithUrl loadBestFormatWithUrl(@NotNull HttpInterface httpInterface,
-                                              @NotNull Client client) throws CannotBeLoaded, Exception {
+  private TrackFormats loadTrackFormats(@NotNull HttpInterface httpInterface,
+                                        @NotNull Client client) throws CannotBeLoaded, Exception {
     if (!client.supportsFormatLoading()) {
       throw new RuntimeException(client.getIdentifier() + " does not support loading of formats!");
     }
@@ -214,8 +521,37 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       throw new FriendlyException("This video cannot be played", Severity.SUSPICIOUS, null);
     }
 
-    StreamFormat format = formats.getBestFormat();
+    return formats;
+  }
+
+  /**
+   * Loads a fresh URL for a specific format, used for renewing the URL of a stream that is already playing.
+   * @return The format with a resolved URL, or {@code null} if the client no longer returns that format.
+   */
+  @Nullable
+  private FormatWithUrl loadFormatWithUrl(@NotNull HttpInterface httpInterface,
+                                          @NotNull Client client,
+                                          @NotNull StreamFormat current) throws CannotBeLoaded, Exception {
+    TrackFormats formats = client.loadFormats(sourceManager, httpInterface, getIdentifier());
+
+    if (formats == null) {
+      return null;
+    }
+
+    for (StreamFormat format : formats.getFormats()) {
+      if (format.getItag() == current.getItag() && format.getContentLength() == current.getContentLength()) {
+        return resolveFormatUrl(httpInterface, client, formats, format);
+      }
+    }
+
+    return null;
+  }
 
+  @NotNull
+  private FormatWithUrl resolveFormatUrl(@NotNull HttpInterface httpInterface,
+                                         @NotNull Client client,
+                                         @NotNull TrackFormats formats,
+                                         @NotNull StreamFormat format) throws IOException {
     URI resolvedUrl = format.getUrl();
     if (client.requirePlayerScript()) {
       resolvedUrl = sourceManager.getCipherManager()
@@ -223,7 +559,7 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       resolvedUrl = client.transformPlaybackUri(format.getUrl(), resolvedUrl);
     }
 
-    return new FormatWithUrl(format, resolvedUrl);
+    return new FormatWithUrl(format, resolvedUrl, client.requirePlayerScript() ? formats.getPlayerScriptUrl() : null);
   }
 
   @Override
@@ -241,40 +577,122 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
     return true;
   }
 
+  /**
+   * @return The format selected for playback, or null if playback has not started yet or the track
+   * is played from an HLS manifest.
+   */
+  @Nullable
+  public StreamFormat getPlaybackFormat() {
+    return playbackFormat;
+  }
+
+  /**
+   * @return True if the format selected for playback can be passed through without transcoding.
+   * Whether it actually is also depends on the player having no filters or volume changes applied.
+   */
+  public boolean isPassthroughCompatible() {
+    StreamFormat format = playbackFormat;
+    return format != null && FormatSelectionPolicy.isPassthroughCompatible(format);
+  }
+
   private static class FormatWithUrl {
     private final StreamFormat format;
     private final URI signedUrl;
+    private final String playerScriptUrl;
+    private final boolean isFallback;
+
+    private FormatWithUrl(@NotNull StreamFormat format,
+                          @NotNull URI signedUrl,
+                          @Nullable String playerScriptUrl) {
+      this(format, signedUrl, playerScriptUrl, false);
+    }
 
     private FormatWithUrl(@NotNull StreamFormat format,
-                          @NotNull URI signedUrl) {
+                          @NotNull URI signedUrl,
+                          @Nullable String playerScriptUrl,
+                          boolean isFallback) {
       this.format = format;
       this.signedUrl = signedUrl;
+      this.playerScriptUrl = playerScriptUrl;
+      this.isFallback = isFallback;
     }
 
     public boolean isExpired() {
+      long expiresAbsMillis = getExpireTimestamp();
+
+      if (expiresAbsMillis == -1) {
+        return false;
+      }
+
+      return System.currentTimeMillis() >= expiresAbsMillis;
+    }
+
+    /**
+     * @return The time (in epoch millis) at which this URL expires, or -1 if unknown.
+     */
+    public long getExpireTimestamp() {
       UrlInfo urlInfo = UrlTools.getUrlInfo(signedUrl.toString(), true);
       String expire = urlInfo.parameters.get("expire");
 
       if (expire == null) {
+        return -1;
+      }
+
+      return Long.parseLong(expire) * 1000;
+    }
+
+    /**
+     * @return True if the n parameter of this URL is still the one from the player response (or was mangled
+     * by an exception), which means that the n function of the player script failed.
+     */
+    public boolean isNTransformFailed() {
+      String nParameter = format.getNParameter();
+
+      if (nParameter == null || nParameter.isEmpty()) {
         return false;
       }
 
-      long expiresAbsMillis = Long.parseLong(expire) * 1000;
-      return System.currentTimeMillis() >= expiresAbsMillis;
+      String transformed = UrlTools.getUrlInfo(signedUrl.toString(), true).parameters.get("n");
+      return transformed == null || transformed.equals(nParameter) || transformed.startsWith("enhanced_except_")
+          || transformed.endsWith("_w8_" + nParameter);
     }
 
     @Nullable
-    public FormatWithUrl getFallback() {
-      String signedString = signedUrl.toString();
-      Map<String, String> urlParameters = decodeUrlEncodedItems(signedString, false);
+    private String[] getMirrorHosts() {
+      String mn = decodeUrlEncodedItems(signedUrl.toString(), false).get("mn");
+      return mn == null ? null : mn.split(",");
+    }
 
-      String mn = urlParameters.get("mn");
+    /**
+     * @return The mirror node (from the "mn" parameter) that this URL points to, if known.
+     */
+    @Nullable
+    public String getMirror() {
+      String[] hosts = getMirrorHosts();
 
-      if (mn == null) {
+      if (hosts == null) {
+        return null;
+      }
+
+      if (isFallback) {
+        return hosts.length < 2 ? null : hosts[1];
+      }
+
+      return hosts[0];
+    }
+
+    @Nullable
+    public FormatWithUrl getFallback() {
+      if (isFallback) {
         return null;
       }
 
-      String[] hosts = mn.split(",");
+      String signedString = signedUrl.toString();
+      String[] hosts = getMirrorHosts();
+
+      if (hosts == null) {
+        return null;
+      }
 
       if (hosts.length < 2) {
         log.warn("Cannot fallback, available hosts: {}", String.join(", ", hosts));
@@ -285,13 +703,197 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
 
       try {
         URI uri = new URI(newUrl);
-        return new FormatWithUrl(format, uri);
+        return new FormatWithUrl(format, uri, playerScriptUrl, true);
       } catch (URISyntaxException e) {
         return null;
       }
     }
   }
 
+  /**
+   * Resolves a replacement URL shortly before the URL of a playing stream expires. The stream picks the new
+   * URL up at its next range reconnect, which avoids the gap caused by waiting for a 403 and reloading.
+   * Also replaces the URL right away if the stream turns out to be throttled.
+   */
+  private class UrlRenewal implements Runnable {
+    private final YoutubePersistentHttpStream stream;
+    private final Object oauthToken;
+    private volatile Client client;
+    private volatile FormatWithUrl current;
+    private volatile ScheduledFuture<?> future;
+    private volatile boolean cancelled;
+    private volatile boolean recovering;
+    private int throttleRecoveries;
+
+    private UrlRenewal(@NotNull Client client,
+                       @NotNull YoutubePersistentHttpStream stream,
+                       @NotNull FormatWithUrl current,
+                       @Nullable Object oauthToken) {
+      this.client = client;
+      this.stream = stream;
+      this.current = current;
+      this.oauthToken = oauthToken;
+    }
+
+    private void schedule() {
+      long expiresAt = current.getExpireTimestamp();
+
+      if (expiresAt == -1 || cancelled) {
+        return;
+      }
+
+      long delay = Math.max(0, expiresAt - URL_RENEWAL_MARGIN_MS - System.currentTimeMillis());
+      // The scheduler only hands the renewal over, so that its single thread is never blocked by a request.
+      future = sourceManager.getBackgroundExecutor().schedule(
+          () -> sourceManager.getRenewalExecutor().execute(this), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancel() {
+      cancelled = true;
+      ScheduledFuture<?> scheduled = future;
+
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+
+      try (HttpInterface httpInterface = sourceManager.getInterface()) {
+        httpInterface.getContext().setAttribute(Client.OAUTH_CLIENT_ATTRIBUTE, client.supportsOAuth());
+
+        if (oauthToken != null) {
+          httpInterface.getContext().setAttribute(OAUTH_INJECT_CONTEXT_ATTRIBUTE, oauthToken);
+        }
+
+        FormatWithUrl renewed = loadFormatWithUrl(httpInterface, client, current.format);
+
+        if (renewed == null || cancelled) {
+          log.debug("Unable to renew URL for {} with client {}, format {} is no longer available",
+              getIdentifier(), client.getIdentifier(), current.format.getItag());
+          return;
+        }
+
+        long previousExpiry = current.getExpireTimestamp();
+        stream.updateContentUrl(preferHealthyMirror(renewed).signedUrl);
+        current = renewed;
+        log.debug("Renewed stream URL for {} with client {} ahead of expiry", getIdentifier(), client.getIdentifier());
+
+        if (renewed.getExpireTimestamp() > previousExpiry) {
+          schedule();
+        }
+      } catch (Throwable t) {
+        // the stream will still be renewed the usual way once the old URL gets rejected.
+        log.debug("Failed to renew stream URL for {} with client {}", getIdentifier(), client.getIdentifier(), t);
+      }
+    }
+
+    /**
+     * Called from the reading thread when the stream downloads at a throttled rate.
+     */
+    private void onThrottled(long bytesPerSecond) {
+      if (cancelled || recovering || throttleRecoveries >= MAX_THROTTLE_RECOVERIES) {
+        return;
+      }
+
+      throttleRecoveries++;
+      recovering = true;
+      log.debug("Stream of {} with client {} is throttled to {} bytes/s, re-resolving its URL (attempt {}/{})",
+          getIdentifier(), client.getIdentifier(), bytesPerSecond, throttleRecoveries, MAX_THROTTLE_RECOVERIES);
+
+      sourceManager.getRenewalExecutor().execute(() -> {
+        try {
+          recoverFromThrottling();
+        } finally {
+          recovering = false;
+        }
+      });
+    }
+
+    private void recoverFromThrottling() {
+      FormatWithUrl throttled = current;
+      PlayerScriptThrottleTracker tracker = sourceManager.getPlayerScriptThrottleTracker();
+
+      if (throttled.playerScriptUrl != null && tracker.markThrottled(throttled.playerScriptUrl,
+          getIdentifier() + ":" + throttled.format.getItag(), throttled.isNTransformFailed())) {
+        // The n parameter was not transformed correctly, YouTube may have rolled out a newer player script.
+        sourceManager.getCipherManager().expirePlayerScript(throttled.playerScriptUrl);
+      }
+
+      try (HttpInterface httpInterface = sourceManager.getInterface()) {
+        if (oauthToken != null) {
+          httpInterface.getContext().setAttribute(OAUTH_INJECT_CONTEXT_ATTRIBUTE, oauthToken);
+        }
+
+        Client renewedClient = client;
+        FormatWithUrl renewed = throttled.playerScriptUrl != null ? loadUnthrottled(httpInterface, renewedClient) : null;
+
+        for (Client other : sourceManager.getClients()) {
+          if (renewed != null || cancelled) {
+            break;
+          }
+
+          if (other != client && other.supportsFormatLoading()) {
+            renewedClient = other;
+            renewed = loadUnthrottled(httpInterface, other);
+          }
+        }
+
+        if (renewed == null) {
+          // Throttling that is not caused by the n parameter may be limited to the mirror.
+          renewed = throttled.getFallback();
+          renewedClient = client;
+        }
+
+        if (renewed == null || cancelled) {
+          log.debug("No alternative URL found for throttled stream of {}", getIdentifier());
+          return;
+        }
+
+        long previousExpiry = current.getExpireTimestamp();
+        stream.switchContentUrl(renewed.signedUrl);
+        current = renewed;
+        client = renewedClient;
+        log.debug("Switched throttled stream of {} to a URL from client {} (mirror {})", getIdentifier(),
+            renewedClient.getIdentifier(), renewed.getMirror());
+
+        if (renewed.getExpireTimestamp() > previousExpiry) {
+          schedule();
+        }
+      } catch (Throwable t) {
+        log.debug("Failed to re-resolve throttled stream of {}", getIdentifier(), t);
+      }
+    }
+
+    /**
+     * @return A new URL for the current format from the given client, null if the client does not provide one
+     * or it was resolved with a player script that is known to produce throttled URLs.
+     */
+    @Nullable
+    private FormatWithUrl loadUnthrottled(@NotNull HttpInterface httpInterface, @NotNull Client from) {
+      httpInterface.getContext().setAttribute(Client.OAUTH_CLIENT_ATTRIBUTE, from.supportsOAuth());
+
+      try {
+        FormatWithUrl renewed = loadFormatWithUrl(httpInterface, from, current.format);
+
+        if (renewed != null && renewed.playerScriptUrl != null
+            && sourceManager.getPlayerScriptThrottleTracker().isThrottling(renewed.playerScriptUrl)) {
+          log.debug("Client {} still uses throttled player script {}", from.getIdentifier(), renewed.playerScriptUrl);
+          return null;
+        }
+
+        return renewed;
+      } catch (Throwable t) {
+        log.debug("Failed to load formats of {} with client {}", getIdentifier(), from.getIdentifier(), t);
+        return null;
+      }
+    }
+  }
+
   private static class StreamExpiredException extends RuntimeException {
     private final long lastStreamPosition;
 
@@ -301,4 +903,15 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       this.lastStreamPosition = lastStreamPosition;
     }
   }
+
+  private static class MirrorFailedException extends RuntimeException {
+    private MirrorFailedException(@NotNull Exception cause) {
+      super(null, cause, true, false);
+    }
+
+    @Override
+    public synchronized Exception getCause() {
+      return (Exception) super.getCause();
+    }
+  }
 }
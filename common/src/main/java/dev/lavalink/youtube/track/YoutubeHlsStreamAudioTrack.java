@@ -0,0 +1,37 @@
+package dev.lavalink.youtube.track;
+
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsAudioTrack;
+import com.sedmelluq.discord.lavaplayer.container.mpegts.MpegTsElementaryInputStream;
+import com.sedmelluq.discord.lavaplayer.container.mpegts.PesPacketInputStream;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import dev.lavalink.youtube.track.live.HlsSegmentStream;
+
+import static com.sedmelluq.discord.lavaplayer.container.mpegts.MpegTsElementaryInputStream.ADTS_ELEMENTARY_STREAM;
+
+/**
+ * YouTube livestream track played from the audio-only rendition of its HLS manifest. Segments are MPEG-TS, the
+ * AAC audio is extracted from them. Playback always follows the live edge, seeking is not supported.
+ */
+public class YoutubeHlsStreamAudioTrack extends DelegatedAudioTrack {
+    private final HlsSegmentStream segmentStream;
+
+    /**
+     * @param trackInfo Track info
+     * @param segmentStream Stream of the segments of the selected rendition. Closing it is up to the caller.
+     */
+    public YoutubeHlsStreamAudioTrack(AudioTrackInfo trackInfo, HlsSegmentStream segmentStream) {
+        super(trackInfo);
+
+        this.segmentStream = segmentStream;
+    }
+
+    @Override
+    public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
+        MpegTsElementaryInputStream elementaryInputStream = new MpegTsElementaryInputStream(segmentStream, ADTS_ELEMENTARY_STREAM);
+        PesPacketInputStream pesPacketInputStream = new PesPacketInputStream(elementaryInputStream);
+
+        processDelegate(new AdtsAudioTrack(trackInfo, pesPacketInputStream), localExecutor);
+    }
+}
@@ -4,23 +4,33 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAudioTrack;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegFileLoader;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackConsumer;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegFileTrackProvider;
-import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.track.live.EventMessageHeaders;
+import dev.lavalink.youtube.track.live.LiveSegmentCache;
+import dev.lavalink.youtube.track.live.LiveSegmentFeed;
+import dev.lavalink.youtube.track.live.LiveSegmentHub;
+import dev.lavalink.youtube.track.live.MemorySeekableInputStream;
+import dev.lavalink.youtube.track.live.SegmentPollScheduler;
+import dev.lavalink.youtube.track.live.SegmentPrefetcher;
+import dev.lavalink.youtube.track.live.SegmentPrefetcher.SegmentRequest;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.utils.URIBuilder;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
@@ -38,12 +48,20 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
         .setConnectionRequestTimeout(3000)
         .setConnectTimeout(3000)
         .build();
-    private static final long EMPTY_RETRY_THRESHOLD_MS = 400;
-    private static final long EMPTY_RETRY_INTERVAL_MS = 50;
     private static final long MAX_REWIND_TIME = 43200; // Seconds
+    private static final long NO_SEQUENCE = Long.MIN_VALUE;
 
     private final HttpInterface httpInterface;
+    private final YoutubeAudioSourceManager sourceManager;
+    private final int itag;
+    private final SegmentPrefetcher prefetcher;
+    private final LiveSegmentCache segmentCache;
+    private final String streamKey;
+    private final SegmentPollScheduler pollScheduler;
     private final TrackState state;
+    private LiveSegmentFeed segmentFeed;
+    private volatile Future<?> sequenceRefresh;
+    private volatile boolean sequenceRefreshStopped;
 
     /**
      * @param trackInfo Track info
@@ -53,25 +71,81 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
     public YoutubeMpegStreamAudioTrack(AudioTrackInfo trackInfo,
                                        HttpInterface httpInterface,
                                        URI signedUrl) {
+        this(trackInfo, httpInterface, signedUrl, null, 0);
+    }
+
+    /**
+     * @param trackInfo Track info
+     * @param httpInterface HTTP interface to use for loading segments
+     * @param signedUrl URI of the base stream with signature resolved
+     * @param sourceManager Source manager providing segment sharing, prefetching and the executors used to
+     *                      look up the sequence in the background. Null to do all loading on the calling thread.
+     * @param itag Itag of the format being played, segments are only shared between tracks playing the same format.
+     */
+    public YoutubeMpegStreamAudioTrack(AudioTrackInfo trackInfo,
+                                       HttpInterface httpInterface,
+                                       URI signedUrl,
+                                       @Nullable YoutubeAudioSourceManager sourceManager,
+                                       int itag) {
         super(trackInfo, null);
 
         this.httpInterface = httpInterface;
+        this.sourceManager = sourceManager;
+        this.itag = itag;
         this.state = new TrackState(signedUrl);
 
+        this.pollScheduler = new SegmentPollScheduler(sourceManager != null && sourceManager.isLowLatencyLiveStreams());
+
+        int prefetchDepth = sourceManager != null ? sourceManager.getLiveSegmentPrefetchDepth() : 0;
+
+        // Every segment of a finished stream exists, a livestream only has the ones behind its live edge.
+        this.prefetcher = prefetchDepth > 0
+            ? new SegmentPrefetcher(
+                sourceManager.getLiveStreamExecutor(),
+                sourceManager::getInterface,
+                sequence -> !trackInfo.isStream || pollScheduler.isAvailable(sequence),
+                prefetchDepth
+            )
+            : null;
+
+        this.segmentCache = sourceManager != null ? sourceManager.getLiveSegmentCache() : null;
+        this.streamKey = LiveSegmentHub.streamKey(trackInfo.identifier, String.valueOf(itag));
+
         // YouTube does not return a segment until it is ready, this might trigger a connect timeout otherwise.
         httpInterface.getContext().setRequestConfig(streamingRequestConfig);
-        updateGlobalSequence();
+
+        if (sourceManager == null) {
+            updateGlobalSequence(httpInterface);
+        }
     }
 
     @Override
     public void process(LocalAudioTrackExecutor localExecutor) {
-        localExecutor.executeProcessingLoop(() -> execute(localExecutor), this::seek);
+        LiveSegmentHub segmentHub = sourceManager != null ? sourceManager.getLiveSegmentHub() : null;
+        segmentFeed = segmentHub != null ? segmentHub.acquire(trackInfo.identifier, String.valueOf(itag)) : null;
+
+        // Livestreams keep their sequence up to date from the segments they play, so only anything else
+        // has to look it up, and only once.
+        if (!trackInfo.isStream) {
+            scheduleSequenceRefresh();
+        }
+
+        try {
+            localExecutor.executeProcessingLoop(() -> execute(localExecutor), this::seek);
+        } finally {
+            stopSequenceRefresh();
+
+            if (segmentFeed != null) {
+                segmentHub.release(segmentFeed);
+            }
+        }
     }
 
     @Override
     public void setPosition(long position) {
+        // The target sequence is computed from the cached sequence state once the playback thread applies the seek,
+        // so nothing here touches the network.
         state.seeking = true;
-        updateGlobalSequence();
         getActiveExecutor().setPosition(position);
     }
 
@@ -82,23 +156,55 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
 
     @Override
     public long getPosition() {
-        if (state.absoluteSequence == null) {
+        if (state.absoluteSequence == NO_SEQUENCE) {
             return super.getPosition();
         }
 
         return TimeUnit.SECONDS.toMillis(state.absoluteSequence * TimeUnit.MILLISECONDS.toSeconds(state.globalSequenceDuration));
     }
 
-    private void updateGlobalSequence() {
+    private void scheduleSequenceRefresh() {
+        if (sourceManager == null || sequenceRefreshStopped) {
+            return;
+        }
+
+        sequenceRefresh = sourceManager.getLiveStreamExecutor().submit(this::refreshGlobalSequence);
+    }
+
+    private void stopSequenceRefresh() {
+        sequenceRefreshStopped = true;
+        Future<?> refresh = sequenceRefresh;
+
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+    }
+
+    private void refreshGlobalSequence() {
+        if (sequenceRefreshStopped) {
+            return;
+        }
+
+        try (HttpInterface refreshInterface = sourceManager.getInterface()) {
+            refreshInterface.getContext().setRequestConfig(streamingRequestConfig);
+            updateGlobalSequence(refreshInterface);
+        } catch (IOException e) {
+            log.debug("Failed to look up the sequence of {}.", trackInfo.identifier, e);
+        }
+    }
+
+    private void updateGlobalSequence(HttpInterface httpInterface) {
         try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, state.initialUrl, CONTENT_LENGTH_UNKNOWN)) {
             MpegFileLoader file = new MpegFileLoader(stream);
             file.parseHeaders();
 
-            SequenceInfo sequenceInfo = extractAbsoluteSequenceFromEvent(file.getLastEventMessage());
+            byte[] message = file.getLastEventMessage();
+            long sequence = EventMessageHeaders.getSequenceNumber(message);
+            long durationUs = EventMessageHeaders.getTargetDurationUs(message);
 
-            if (sequenceInfo != null) {
-                state.globalSequence = sequenceInfo.sequence;
-                state.globalSequenceDuration = sequenceInfo.duration;
+            if (sequence != EventMessageHeaders.MISSING && durationUs != EventMessageHeaders.MISSING) {
+                state.globalSequence = sequence;
+                state.globalSequenceDuration = TimeUnit.MICROSECONDS.toMillis(durationUs);
             }
         } catch (IOException ignored) {
 
@@ -106,8 +212,8 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
     }
 
     private void execute(LocalAudioTrackExecutor localExecutor) throws InterruptedException {
-        if (!trackInfo.isStream && state.absoluteSequence == null) {
-            state.absoluteSequence = 0L;
+        if (!trackInfo.isStream && state.absoluteSequence == NO_SEQUENCE) {
+            state.absoluteSequence = 0;
         }
 
         try {
@@ -117,6 +223,10 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
                 state.globalSequence++;
             }
         } finally {
+            if (prefetcher != null) {
+                prefetcher.cancel();
+            }
+
             if (state.trackConsumer != null && !state.seeking) {
                 state.trackConsumer.close();
             } else {
@@ -126,15 +236,23 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
     }
 
     private void seek(long timecode) {
-        long seconds = TimeUnit.MILLISECONDS.toSeconds(timecode);
+        if (sourceManager == null || state.globalSequence == 0) {
+            // Nothing cached (yet). This runs on the playback thread, so looking it up here does not block anyone else.
+            updateGlobalSequence(httpInterface);
+        }
+
+        long globalSequence = state.globalSequence;
+        long segmentSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(state.globalSequenceDuration));
+        long sequence = TimeUnit.MILLISECONDS.toSeconds(timecode) / segmentSeconds;
+        long maxRewind = MAX_REWIND_TIME / segmentSeconds;
 
-        if (seconds > state.globalSequence) {
-            seconds = state.globalSequence;
-        } else if (state.globalSequence - seconds > MAX_REWIND_TIME) {
-            seconds = state.globalSequence - MAX_REWIND_TIME;
+        if (sequence > globalSequence) {
+            sequence = globalSequence;
+        } else if (globalSequence - sequence > maxRewind) {
+            sequence = globalSequence - maxRewind;
         }
 
-        state.absoluteSequence = seconds - 1;
+        state.absoluteSequence = sequence - 1;
     }
 
     private void processNextSegmentWithRetry(
@@ -145,18 +263,19 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
         }
 
         // First attempt gave empty result, possibly because the stream is not yet finished, but the next segment is just
-        // not ready yet. Keep retrying at EMPTY_RETRY_INTERVAL_MS intervals until EMPTY_RETRY_THRESHOLD_MS is reached.
-        long waitStart = System.currentTimeMillis();
-        long iterationStart = waitStart;
+        // not ready yet. Keep retrying at the intervals given by the poll scheduler until its deadline is reached.
+        long deadline = pollScheduler.getDeadline(System.currentTimeMillis());
+        long iterationStart = System.currentTimeMillis();
+        int attempt = 0;
 
         while (!processNextSegment(localExecutor)) {
-            // EMPTY_RETRY_THRESHOLD_MS is the maximum time between the end of the first attempt and the beginning of the last
-            // attempt, to avoid retry being skipped due to response coming slowly.
-            if (iterationStart - waitStart >= EMPTY_RETRY_THRESHOLD_MS) {
+            // The deadline applies to the beginning of the last attempt, to avoid retry being skipped due to response
+            // coming slowly.
+            if (iterationStart >= deadline) {
                 state.finished = true;
                 break;
             } else {
-                Thread.sleep(EMPTY_RETRY_INTERVAL_MS);
+                Thread.sleep(pollScheduler.getRetryDelay(attempt++));
                 iterationStart = System.currentTimeMillis();
             }
         }
@@ -169,8 +288,20 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
 
         log.debug("Segment URL: {}", segmentUrl.toString());
 
+        if (state.absoluteSequence != NO_SEQUENCE && (segmentFeed != null || prefetcher != null || segmentCache != null)) {
+            return processBufferedSegment(localExecutor, segmentUrl, state.absoluteSequence + 1);
+        }
+
         try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, segmentUrl, CONTENT_LENGTH_UNKNOWN)) {
-            if (stream.checkStatusCode() == HttpStatus.SC_NO_CONTENT || stream.getContentLength() == 0) {
+            int statusCode = stream.checkStatusCode();
+
+            if (statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                // The edge itself is failing, surface this so that playback can move to another mirror
+                // rather than treating it as the end of the stream.
+                throw new RuntimeException("Not success status code: " + statusCode);
+            }
+
+            if (statusCode == HttpStatus.SC_NO_CONTENT || stream.getContentLength() == 0) {
                 return false;
             }
 
@@ -190,18 +321,128 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
         return true;
     }
 
+    private boolean processBufferedSegment(
+        LocalAudioTrackExecutor localExecutor,
+        URI segmentUrl,
+        long sequence
+    ) throws InterruptedException {
+        try {
+            byte[] segment = prefetcher != null
+                ? prefetcher.fetch(httpInterface, sequence, next -> createSegmentRequest(sequence, next))
+                : loadSegment(httpInterface, segmentUrl, sequence);
+
+            if (segment == null) {
+                return false;
+            }
+
+            processSegmentStream(new MemorySeekableInputStream(segment), localExecutor.getProcessingContext(), state);
+        } catch (IOException e) {
+            // IOException here usually means that stream is about to end.
+            return false;
+        }
+
+        return true;
+    }
+
+    private SegmentRequest createSegmentRequest(long currentSequence, long sequence) {
+        URI segmentUrl = getSegmentUrl(state.relativeSequence + sequence - currentSequence, sequence);
+
+        return requestInterface -> {
+            if (requestInterface != httpInterface) {
+                requestInterface.getContext().setRequestConfig(streamingRequestConfig);
+            }
+
+            return loadSegment(requestInterface, segmentUrl, sequence);
+        };
+    }
+
+    @Nullable
+    private byte[] loadSegment(HttpInterface httpInterface, URI segmentUrl, long sequence) throws IOException, InterruptedException {
+        if (segmentCache == null) {
+            return fetchSegment(httpInterface, segmentUrl, sequence);
+        }
+
+        byte[] data = segmentCache.get(streamKey, sequence);
+
+        if (data == null) {
+            data = fetchSegment(httpInterface, segmentUrl, sequence);
+
+            if (data != null) {
+                segmentCache.put(streamKey, sequence, data);
+            }
+        }
+
+        return data;
+    }
+
+    @Nullable
+    private byte[] fetchSegment(HttpInterface httpInterface, URI segmentUrl, long sequence) throws IOException, InterruptedException {
+        if (segmentFeed != null) {
+            return segmentFeed.getSegment(sequence, () -> downloadSegment(httpInterface, segmentUrl));
+        }
+
+        return downloadSegment(httpInterface, segmentUrl);
+    }
+
+    @Nullable
+    private byte[] downloadSegment(HttpInterface httpInterface, URI segmentUrl) throws IOException {
+        try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, segmentUrl, CONTENT_LENGTH_UNKNOWN)) {
+            int statusCode = stream.checkStatusCode();
+
+            if (statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                throw new RuntimeException("Not success status code: " + statusCode);
+            }
+
+            if (statusCode == HttpStatus.SC_NO_CONTENT || stream.getContentLength() == 0) {
+                return null;
+            }
+
+            if (httpInterface == this.httpInterface) {
+                state.redirectUrl = httpInterface.getFinalLocation();
+            }
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+
+            stream.releaseConnection();
+            return output.toByteArray();
+        }
+    }
+
     private void processSegmentStream(SeekableInputStream stream, AudioProcessingContext context, TrackState state) throws InterruptedException, IOException {
         MpegFileLoader file = new MpegFileLoader(stream);
         file.parseHeaders();
 
+        byte[] message = file.getLastEventMessage();
+        long sequence = EventMessageHeaders.getSequenceNumber(message);
+        long durationUs = EventMessageHeaders.getTargetDurationUs(message);
+        boolean hasSequenceInfo = sequence != EventMessageHeaders.MISSING && durationUs != EventMessageHeaders.MISSING;
+
         if (!trackInfo.isStream) {
             state.absoluteSequence++;
-        } else {
-            SequenceInfo sequenceInfo = extractAbsoluteSequenceFromEvent(file.getLastEventMessage());
+        } else if (hasSequenceInfo) {
+            state.absoluteSequence = sequence;
+            // Segments are played close to the live edge, so their own sequence also moves the known end of the
+            // stream forward without a separate request for the latest segment.
+            state.globalSequence = Math.max(state.globalSequence, sequence);
+            state.globalSequenceDuration = TimeUnit.MICROSECONDS.toMillis(durationUs);
+        }
 
-            if (sequenceInfo != null) {
-                state.absoluteSequence = sequenceInfo.sequence;
-            }
+        if (hasSequenceInfo) {
+            long ingestedAtUs = EventMessageHeaders.getIngestionWalltimeUs(message);
+
+            pollScheduler.onSegment(
+                sequence,
+                TimeUnit.MICROSECONDS.toMillis(durationUs),
+                ingestedAtUs != EventMessageHeaders.MISSING ? TimeUnit.MICROSECONDS.toMillis(ingestedAtUs) : 0
+            );
+        } else {
+            pollScheduler.onSegment(0);
         }
 
         if (state.trackConsumer == null) {
@@ -217,12 +458,16 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
     }
 
     private URI getNextSegmentUrl(TrackState state) {
+        return getSegmentUrl(state.relativeSequence, state.absoluteSequence != NO_SEQUENCE ? state.absoluteSequence + 1 : NO_SEQUENCE);
+    }
+
+    private URI getSegmentUrl(long relativeSequence, long sequence) {
         URIBuilder builder = new URIBuilder(state.redirectUrl == null ? state.initialUrl : state.redirectUrl)
-            .setParameter("rn", String.valueOf(state.relativeSequence))
+            .setParameter("rn", String.valueOf(relativeSequence))
             .setParameter("rbuf", "0");
 
-        if (state.absoluteSequence != null) {
-            builder.setParameter("sq", String.valueOf(state.absoluteSequence + 1));
+        if (sequence != NO_SEQUENCE) {
+            builder.setParameter("sq", String.valueOf(sequence));
         }
 
         try {
@@ -232,27 +477,12 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
         }
     }
 
-    private SequenceInfo extractAbsoluteSequenceFromEvent(byte[] data) {
-        if (data == null) {
-            return null;
-        }
-
-        String message = new String(data, StandardCharsets.UTF_8);
-        String sequence = DataFormatTools.extractBetween(message, "Sequence-Number: ", "\r\n");
-        String duration = DataFormatTools.extractBetween(message, "Target-Duration-Us: ", "\r\n");
-
-        if (sequence != null && duration != null) {
-            return new SequenceInfo(Long.parseLong(sequence), TimeUnit.MICROSECONDS.toMillis(Long.parseLong(duration)));
-        }
-
-        return null;
-    }
-
     private static class TrackState {
-        private long globalSequenceDuration;
-        private long globalSequence;
+        // Also written by the background sequence lookup.
+        private volatile long globalSequenceDuration;
+        private volatile long globalSequence;
         private long relativeSequence;
-        private Long absoluteSequence;
+        private long absoluteSequence = NO_SEQUENCE;
         private MpegTrackConsumer trackConsumer;
         private boolean finished;
         private boolean seeking;
@@ -263,14 +493,4 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
             this.initialUrl = initialUrl;
         }
     }
-
-    private static class SequenceInfo {
-        private final long sequence;
-        private final long duration;
-
-        public SequenceInfo(long sequence, long duration) {
-            this.sequence = sequence;
-            this.duration = duration;
-        }
-    }
 }
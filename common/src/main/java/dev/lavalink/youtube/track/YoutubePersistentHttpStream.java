@@ -3,11 +3,20 @@ package dev.lavalink.youtube.track;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import dev.lavalink.youtube.cache.AudioFileCache;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.util.EntityUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -20,8 +29,22 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
 
     // Valid range for requesting without throttling is 0-11862014
     private static final long BUFFER_SIZE = 11862014;
+    private static final int SKIP_BUFFER_SIZE = 8192;
 
+    private final HttpInterface httpInterface;
     private long rangeEnd;
+    private volatile URI activeUrl;
+    private volatile boolean switchRequested;
+    private ThroughputMonitor throughputMonitor;
+    private byte[] header;
+    private ByteBuffer prefix;
+    private AudioFileCache.Entry cacheEntry;
+    private byte[] skipBuffer;
+    private SharedChunkFeed.Reader chunkReader;
+    private byte[] chunk;
+    private long chunkIndex = -1;
+    private long cursorIndex = -1;
+    private boolean sharing;
 
     /**
      * @param httpInterface The HTTP interface to use for requests
@@ -30,38 +53,222 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
      */
     public YoutubePersistentHttpStream(HttpInterface httpInterface, URI contentUrl, long contentLength) {
         super(httpInterface, contentUrl, contentLength);
+        this.httpInterface = httpInterface;
+        this.activeUrl = contentUrl;
+    }
+
+    /**
+     * Loads the start of the resource with a single small request, and serves reads within it from memory from
+     * then on. With the container header and seek index in memory, the demuxer can translate seek targets to
+     * byte offsets without any requests, so a seek costs exactly one connection at the target offset.
+     * @param length The number of bytes to load, see {@link dev.lavalink.youtube.track.format.StreamFormat#getHeaderLength()}.
+     * @return False if the header could not be loaded this way, reads then go through the regular connection.
+     */
+    public boolean prefetchHeader(int length) throws IOException {
+        if (!supportsRanges() || prefix != null || position != 0 || length <= 0 || length > contentLength) {
+            return false;
+        }
+
+        URI headerUrl;
+
+        try {
+            headerUrl = new URIBuilder(activeUrl).addParameter("range", "0-" + (length - 1)).build();
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+
+        try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(headerUrl))) {
+            HttpClientTools.assertSuccessWithContent(response, "format header");
+            byte[] data = EntityUtils.toByteArray(response.getEntity());
+
+            if (data.length != length) {
+                log.debug("Expected {} header bytes, got {}", length, data.length);
+                return false;
+            }
+
+            setHeader(data);
+            return true;
+        }
+    }
+
+    /**
+     * Serves reads from the cached part of the resource, and adds data read from the network to the cache.
+     * Must be called before reading starts.
+     * @param entry The cached copy of this resource.
+     * @return True if the start of the resource is read from the cache, false if it is only being written to.
+     */
+    public boolean useCache(@NotNull AudioFileCache.Entry entry) {
+        if (!supportsRanges() || position != 0) {
+            return false;
+        }
+
+        cacheEntry = entry;
+        ByteBuffer cached = entry.getCachedPrefix();
+
+        if (cached.limit() > 0) {
+            prefix = cached;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the parts of the resource that are not served from memory or cache in chunks from a shared feed
+     * while other streams of the same format are reading it too, so that they only download each chunk once.
+     * While this stream is the only reader, it keeps reading over its own persistent connection, which is
+     * cheaper than a request per chunk. Must be called before reading starts.
+     * @param reader Reader of the feed of this resource.
+     * @return False if this stream cannot read in chunks.
+     */
+    public boolean useSharedChunks(@NotNull SharedChunkFeed.Reader reader) {
+        if (!supportsRanges() || position != 0) {
+            return false;
+        }
+
+        chunkReader = reader;
+        return true;
+    }
+
+    /**
+     * Replaces the URL used for this stream, for example with a renewed URL before the current one
+     * expires. The current connection is kept, the new URL is used from the next (range) reconnect.
+     * @param url The new URL of the same resource.
+     */
+    public void updateContentUrl(URI url) {
+        this.activeUrl = url;
+    }
+
+    /**
+     * Replaces the URL used for this stream and drops the current connection, for example when the current URL
+     * is throttled. Reading continues from the same position with the new URL.
+     * @param url The new URL of the same resource.
+     */
+    public void switchContentUrl(URI url) {
+        this.activeUrl = url;
+        this.switchRequested = true;
+    }
+
+    /**
+     * Measures the download rate of this stream with the given monitor. Must be called before reading starts.
+     * @param monitor The monitor to record network reads with.
+     */
+    public void setThroughputMonitor(@Nullable ThroughputMonitor monitor) {
+        this.throughputMonitor = monitor;
+    }
+
+    /**
+     * @return The URL that will be used for the next connection.
+     */
+    public URI getActiveUrl() {
+        return activeUrl;
+    }
+
+    /**
+     * @return The start of the resource loaded by {@link #prefetchHeader(int)} or set with {@link #useHeader(byte[])},
+     * null if there is none.
+     */
+    @Nullable
+    public byte[] getHeader() {
+        return header;
+    }
+
+    /**
+     * Serves reads from the start of the resource from the given data, which was loaded earlier, for example by
+     * another stream of the same format.
+     * @param header The first bytes of the resource.
+     * @return False if the data cannot be used, as it is longer than the resource or reading has already started.
+     */
+    public boolean useHeader(@NotNull byte[] header) {
+        if (!supportsRanges() || prefix != null || position != 0 || header.length > contentLength) {
+            return false;
+        }
+
+        setHeader(header);
+        return true;
+    }
+
+    private void setHeader(byte[] data) {
+        header = data;
+        prefix = ByteBuffer.wrap(data);
+
+        if (cacheEntry != null) {
+            // Reads continue from the network after the header, the cached copy has to start with it.
+            cacheEntry.write(0, data, 0, data.length);
+        }
+    }
+
+    private boolean supportsRanges() {
+        return supportsRanges(contentUrl);
+    }
+
+    /**
+     * @param url The URL of a format.
+     * @return True if reads from the URL can start at any position. Segmented stream URLs ignore the range
+     * parameter, so a stream of one always starts at the beginning, regardless of {@link #seek(long)}.
+     */
+    public static boolean supportsRanges(@NotNull URI url) {
+        return !url.toString().contains("rn=");
     }
 
     @Override
     protected URI getConnectUrl() {
-        if (!contentUrl.toString().contains("rn=")) {
+        if (supportsRanges()) {
             URI rangeUrl = getNextRangeUrl();
 
             log.debug("Range URL: {}", rangeUrl.toString());
 
             return rangeUrl;
         } else {
-            return contentUrl;
+            return activeUrl;
         }
     }
 
     @Override
     protected int internalRead(byte[] b, int off, int len, boolean attemptReconnect) throws IOException {
+        if (isInPrefix()) {
+            int count = (int) Math.min(len, prefix.limit() - position);
+            ByteBuffer view = prefix.duplicate();
+            // Through Buffer, as ByteBuffer#position(int) only exists since Java 9.
+            ((Buffer) view).position((int) position);
+            view.get(b, off, count);
+            position += count;
+            return count;
+        } else if (prefix != null && prefix.limit() >= contentLength) {
+            // Fully cached, there is nothing past the end to connect for.
+            return -1;
+        }
+
+        applyUrlSwitch();
+
+        if (chunkReader != null && isSharing()) {
+            try {
+                return readChunk(b, off, len);
+            } catch (IOException e) {
+                if (attemptReconnect && HttpClientTools.isRetriableNetworkException(e)) {
+                    return internalRead(b, off, len, false);
+                }
+
+                throw e;
+            }
+        }
+
         connect(false);
+        long startPosition = position;
         long nextExpectedPosition = position + len + (len / 2);
 
         try {
             int result;
             if (nextExpectedPosition >= rangeEnd && rangeEnd != 0) {
                 if (rangeEnd == contentLength) {
-                    result = currentContent.read(b, off, len);
+                    result = readContent(b, off, len);
                     position += result;
                 } else {
                     result = 0;
                     handleRangeEnd(null, attemptReconnect);
                 }
             } else {
-                result = currentContent.read(b, off, len);
+                result = readContent(b, off, len);
                 if (result >= 0) {
                     position += result;
                     if (position >= rangeEnd && !contentUrl.toString().contains("rn=")) {
@@ -70,6 +277,10 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
                 }
             }
 
+            if (cacheEntry != null && result > 0) {
+                cacheEntry.write(startPosition, b, off, result);
+            }
+
             return result;
         } catch (IOException e) {
             handleRangeEnd(e, attemptReconnect);
@@ -79,6 +290,28 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
 
     @Override
     protected long internalSkip(long n, boolean attemptReconnect) throws IOException {
+        if (isInPrefix()) {
+            long count = Math.min(n, prefix.limit() - position);
+            position += count;
+            return count;
+        } else if (cacheEntry != null && cacheEntry.accepts(position)) {
+            // Read instead of skipping, so that the cached copy stays contiguous.
+            if (skipBuffer == null) {
+                skipBuffer = new byte[SKIP_BUFFER_SIZE];
+            }
+
+            int length = (int) Math.min(n, SKIP_BUFFER_SIZE);
+            return Math.max(internalRead(skipBuffer, 0, length, attemptReconnect), 0);
+        }
+
+        applyUrlSwitch();
+
+        if (chunkReader != null && isSharing()) {
+            long count = Math.max(0, Math.min(n, contentLength - position));
+            position += count;
+            return count;
+        }
+
         connect(false);
         long nextExpectedPosition = position + n;
 
@@ -108,6 +341,134 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
         }
     }
 
+    private void applyUrlSwitch() throws IOException {
+        if (!switchRequested) {
+            return;
+        }
+
+        switchRequested = false;
+
+        if (throughputMonitor != null) {
+            throughputMonitor.reset();
+        }
+
+        if (getCurrentResponse() != null) {
+            // The current connection still uses the old URL.
+            close();
+        }
+    }
+
+    private int readContent(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int result = currentContent.read(b, off, len);
+
+        if (throughputMonitor != null) {
+            throughputMonitor.record(result, System.nanoTime() - start);
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks at every chunk boundary whether other streams are reading the shared feed.
+     * @return True if the current chunk should be read through the feed rather than the connection.
+     */
+    private boolean isSharing() throws IOException {
+        long index = position / SharedChunkHub.CHUNK_SIZE;
+
+        if (index != cursorIndex) {
+            cursorIndex = index;
+            boolean shared = chunkReader.moveTo(index);
+
+            if (shared && !sharing && getCurrentResponse() != null) {
+                // Others joined, the connection is reopened at the right position if they all leave again.
+                close();
+            }
+
+            sharing = shared;
+        }
+
+        return sharing;
+    }
+
+    private int readChunk(byte[] b, int off, int len) throws IOException {
+        if (position >= contentLength) {
+            return -1;
+        }
+
+        long index = position / SharedChunkHub.CHUNK_SIZE;
+
+        if (chunkIndex != index) {
+            try {
+                chunk = chunkReader.getChunk(index, () -> loadChunk(index));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            chunkIndex = index;
+        }
+
+        int chunkOffset = (int) (position - index * SharedChunkHub.CHUNK_SIZE);
+        int count = Math.min(len, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, b, off, count);
+
+        if (cacheEntry != null) {
+            cacheEntry.write(position, b, off, count);
+        }
+
+        position += count;
+        return count;
+    }
+
+    private byte[] loadChunk(long index) throws IOException {
+        long start = index * SharedChunkHub.CHUNK_SIZE;
+        long end = Math.min(start + SharedChunkHub.CHUNK_SIZE, contentLength) - 1;
+        URI chunkUrl;
+
+        try {
+            chunkUrl = new URIBuilder(activeUrl).addParameter("range", start + "-" + end).build();
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+
+        long startNanos = System.nanoTime();
+
+        try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(chunkUrl))) {
+            int statusCode = response.getStatusLine().getStatusCode();
+
+            if (!HttpClientTools.isSuccessWithContent(statusCode)) {
+                // Same message as for the regular connection, so that expired URLs and failed mirrors are handled alike.
+                throw new RuntimeException("Not success status code: " + statusCode);
+            }
+
+            byte[] data = EntityUtils.toByteArray(response.getEntity());
+
+            if (data.length != end - start + 1) {
+                throw new IOException("Expected " + (end - start + 1) + " bytes for chunk " + index + ", got " + data.length);
+            }
+
+            if (throughputMonitor != null) {
+                throughputMonitor.record(data.length, System.nanoTime() - startNanos);
+            }
+
+            return data;
+        }
+    }
+
+    private boolean isInPrefix() throws IOException {
+        if (prefix == null || position >= prefix.limit()) {
+            return false;
+        }
+
+        if (getCurrentResponse() != null) {
+            // A connection left open past the prefix no longer matches the position.
+            close();
+        }
+
+        return true;
+    }
+
     private URI getNextRangeUrl() {
         rangeEnd = position + BUFFER_SIZE;
 
@@ -116,7 +477,7 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
         }
 
         try {
-            return new URIBuilder(contentUrl).addParameter("range", position + "-" + rangeEnd).build();
+            return new URIBuilder(activeUrl).addParameter("range", position + "-" + rangeEnd).build();
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         }
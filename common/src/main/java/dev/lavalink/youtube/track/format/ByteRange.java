@@ -0,0 +1,52 @@
+package dev.lavalink.youtube.track.format;
+
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An inclusive range of bytes within a format, such as the location of its container header or seek index.
+ */
+public class ByteRange {
+  private final long start;
+  private final long end;
+
+  /**
+   * @param start Offset of the first byte
+   * @param end Offset of the last byte
+   */
+  public ByteRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * @param json Range object from the streaming data, with "start" and "end" fields.
+   * @return The range, or null if the fields are missing or invalid.
+   */
+  @Nullable
+  public static ByteRange fromJson(@NotNull JsonBrowser json) {
+    long start = json.get("start").asLong(-1);
+    long end = json.get("end").asLong(-1);
+    return start >= 0 && end >= start ? new ByteRange(start, end) : null;
+  }
+
+  /**
+   * @return Offset of the first byte
+   */
+  public long getStart() {
+    return start;
+  }
+
+  /**
+   * @return Offset of the last byte
+   */
+  public long getEnd() {
+    return end;
+  }
+
+  @Override
+  public String toString() {
+    return start + "-" + end;
+  }
+}
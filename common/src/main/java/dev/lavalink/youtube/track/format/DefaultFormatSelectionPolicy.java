@@ -0,0 +1,35 @@
+package dev.lavalink.youtube.track.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.sedmelluq.discord.lavaplayer.container.Formats.MIME_AUDIO_WEBM;
+
+/**
+ * Picks the format with the most preferred codec, in the order of {@link FormatInfo}, skipping Opus with more
+ * than two channels, which LavaPlayer cannot decode. Within a codec the highest bitrate wins, except that a DRC
+ * format never replaces a non-DRC one.
+ */
+public class DefaultFormatSelectionPolicy implements FormatSelectionPolicy {
+    @Override
+    public boolean isBetterFormat(@NotNull StreamFormat format, @Nullable StreamFormat current) {
+        FormatInfo info = format.getInfo();
+
+        if (info == null) {
+            return false;
+        } else if (current == null) {
+            return true;
+        } else if (MIME_AUDIO_WEBM.equals(info.mimeType) && format.getAudioChannels() > 2) {
+            // Opus with more than 2 audio channels is unsupported by LavaPlayer currently.
+            return false;
+        } else if (info.ordinal() != current.getInfo().ordinal()) {
+            return info.ordinal() < current.getInfo().ordinal();
+        } else if (format.isDrc() && !current.isDrc()) {
+            // prefer non-drc formats
+            // IF ANYTHING BREAKS/SOUNDS BAD, REMOVE THIS
+            return false;
+        } else {
+            return format.getBitrate() > current.getBitrate();
+        }
+    }
+}
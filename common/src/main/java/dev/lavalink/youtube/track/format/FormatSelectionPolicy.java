@@ -0,0 +1,57 @@
+package dev.lavalink.youtube.track.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Decides which of the available formats of a track is played.
+ */
+@FunctionalInterface
+public interface FormatSelectionPolicy {
+    /**
+     * Prefers formats in {@link FormatInfo} order (Opus first), then non-DRC formats, then higher bitrates.
+     */
+    FormatSelectionPolicy DEFAULT = new DefaultFormatSelectionPolicy();
+
+    /**
+     * Strongly prefers formats that can be sent to Discord without decoding and re-encoding them, even over
+     * mono or surround Opus with a higher bitrate, and prefers the non-DRC ones among those. Falls back to
+     * {@link #DEFAULT} when a track has none, so that playback uses as little CPU as possible.
+     * @see #isPassthroughCompatible(StreamFormat)
+     */
+    FormatSelectionPolicy MINIMIZE_CPU = new PassthroughFormatSelectionPolicy();
+
+    /**
+     * @param format The format being considered.
+     * @param current The best format found so far, null if none was found yet.
+     * @return True if {@code format} should be played rather than {@code current}.
+     */
+    boolean isBetterFormat(@NotNull StreamFormat format, @Nullable StreamFormat current);
+
+    /**
+     * @param formats The candidate formats.
+     * @return The best of the candidates, or null if none of them is supported.
+     */
+    @Nullable
+    default StreamFormat select(@NotNull List<StreamFormat> formats) {
+        StreamFormat bestFormat = null;
+
+        for (StreamFormat format : formats) {
+            if (isBetterFormat(format, bestFormat)) {
+                bestFormat = format;
+            }
+        }
+
+        return bestFormat;
+    }
+
+    /**
+     * @return True if the format is stereo Opus, which LavaPlayer can pass through to the player without
+     * transcoding it, as long as no filters or volume changes are applied.
+     */
+    static boolean isPassthroughCompatible(@NotNull StreamFormat format) {
+        return format.getInfo() == FormatInfo.WEBM_OPUS && format.getAudioChannels() == 2;
+    }
+}
@@ -0,0 +1,93 @@
+package dev.lavalink.youtube.track.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Wraps another policy and, while the node is under load, plays the lowest bitrate variant of the format
+ * that policy selects instead. The codec, channel count and DRC flag are kept, so a passthrough-compatible
+ * selection stays passthrough-compatible. Downshifting starts once the load reaches the high watermark and
+ * only stops once it has dropped to the low watermark, so that a load hovering around a single threshold
+ * does not make every other track switch bitrate.
+ */
+public class LoadAwareFormatSelectionPolicy implements FormatSelectionPolicy {
+    private static final Logger log = LoggerFactory.getLogger(LoadAwareFormatSelectionPolicy.class);
+
+    private final FormatSelectionPolicy delegate;
+    private final DoubleSupplier loadSupplier;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private volatile boolean downshifting;
+
+    /**
+     * @param delegate The policy selecting the format when the node is not under load.
+     * @param loadSupplier Provides the current load, in whichever unit the watermarks are given in.
+     * @param highWatermark The load at which lower bitrates start being selected.
+     * @param lowWatermark The load at which the highest bitrates are selected again, at most {@code highWatermark}.
+     */
+    public LoadAwareFormatSelectionPolicy(@NotNull FormatSelectionPolicy delegate,
+                                          @NotNull DoubleSupplier loadSupplier,
+                                          double highWatermark,
+                                          double lowWatermark) {
+        if (lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Low watermark must not be above the high watermark");
+        }
+
+        this.delegate = delegate;
+        this.loadSupplier = loadSupplier;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    @Override
+    public boolean isBetterFormat(@NotNull StreamFormat format, @Nullable StreamFormat current) {
+        return delegate.isBetterFormat(format, current);
+    }
+
+    @Nullable
+    @Override
+    public StreamFormat select(@NotNull List<StreamFormat> formats) {
+        StreamFormat selected = delegate.select(formats);
+
+        if (selected == null || !updateDownshifting()) {
+            return selected;
+        }
+
+        for (StreamFormat format : formats) {
+            if (format.getInfo() == selected.getInfo()
+                && format.getAudioChannels() == selected.getAudioChannels()
+                && format.isDrc() == selected.isDrc()
+                && format.getBitrate() < selected.getBitrate()) {
+                selected = format;
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * @return True if formats are currently being downshifted.
+     */
+    public boolean isDownshifting() {
+        return downshifting;
+    }
+
+    private synchronized boolean updateDownshifting() {
+        double load = loadSupplier.getAsDouble();
+
+        if (!downshifting && load >= highWatermark) {
+            log.info("Load {} reached {}, selecting lower bitrate formats.", load, highWatermark);
+            downshifting = true;
+        } else if (downshifting && load <= lowWatermark) {
+            log.info("Load {} dropped to {}, selecting regular formats again.", load, lowWatermark);
+            downshifting = false;
+        }
+
+        return downshifting;
+    }
+}
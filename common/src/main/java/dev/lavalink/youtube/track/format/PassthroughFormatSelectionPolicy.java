@@ -0,0 +1,30 @@
+package dev.lavalink.youtube.track.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Picks a passthrough-compatible format whenever one is available, regardless of how the other formats
+ * compare. {@link FormatSelectionPolicy#DEFAULT} only compares bitrates within a codec, so it can settle on
+ * mono or surround Opus, which has to be transcoded, when that has a higher bitrate than the stereo format.
+ * Between passthrough-compatible formats, non-DRC formats always win, even over a DRC format with a higher
+ * bitrate. Any other ties are broken by {@link FormatSelectionPolicy#DEFAULT}.
+ */
+public class PassthroughFormatSelectionPolicy implements FormatSelectionPolicy {
+    @Override
+    public boolean isBetterFormat(@NotNull StreamFormat format, @Nullable StreamFormat current) {
+        if (format.getInfo() != null && current != null) {
+            boolean passthrough = FormatSelectionPolicy.isPassthroughCompatible(format);
+
+            if (passthrough != FormatSelectionPolicy.isPassthroughCompatible(current)) {
+                return passthrough;
+            }
+
+            if (passthrough && format.isDrc() != current.isDrc()) {
+                return !format.isDrc();
+            }
+        }
+
+        return DEFAULT.isBetterFormat(format, current);
+    }
+}
@@ -23,6 +23,8 @@ public class StreamFormat {
   private final String signatureKey;
   private final boolean defaultAudioTrack;
   private final boolean isDrc;
+  private final ByteRange initRange;
+  private final ByteRange indexRange;
 
   /**
    * @param type Mime type of the format
@@ -48,6 +50,39 @@ public class StreamFormat {
       String signatureKey,
       boolean isDefaultAudioTrack,
       boolean isDrc
+  ) {
+    this(type, itag, bitrate, contentLength, audioChannels, url, nParameter, signature, signatureKey,
+        isDefaultAudioTrack, isDrc, null, null);
+  }
+
+  /**
+   * @param type Mime type of the format
+   * @param bitrate Bitrate of the format
+   * @param contentLength Length in bytes of the media
+   * @param audioChannels Number of audio channels
+   * @param url Base URL for the playback of this format
+   * @param nParameter n parameter for this format
+   * @param signature Cipher signature for this format
+   * @param signatureKey The key to use for deciphered signature in the final playback URL
+   * @param isDefaultAudioTrack Whether this format contains an audio track that is used by default.
+   * @param isDrc Whether this format has Dynamic Range Compression.
+   * @param initRange Location of the container header, for adaptive formats.
+   * @param indexRange Location of the seek index (sidx box or cues), for adaptive formats.
+   */
+  public StreamFormat(
+      ContentType type,
+      int itag,
+      long bitrate,
+      long contentLength,
+      long audioChannels,
+      String url,
+      String nParameter,
+      String signature,
+      String signatureKey,
+      boolean isDefaultAudioTrack,
+      boolean isDrc,
+      ByteRange initRange,
+      ByteRange indexRange
   ) {
     this.info = FormatInfo.get(type);
     this.type = type;
@@ -61,6 +96,8 @@ public class StreamFormat {
     this.signatureKey = signatureKey;
     this.defaultAudioTrack = isDefaultAudioTrack;
     this.isDrc = isDrc;
+    this.initRange = initRange;
+    this.indexRange = indexRange;
   }
 
   /**
@@ -154,6 +191,35 @@ public class StreamFormat {
     return isDrc;
   }
 
+  /**
+   * @return Location of the container header, null if unknown.
+   */
+  @Nullable
+  public ByteRange getInitRange() {
+    return initRange;
+  }
+
+  /**
+   * @return Location of the seek index, null if unknown.
+   */
+  @Nullable
+  public ByteRange getIndexRange() {
+    return indexRange;
+  }
+
+  /**
+   * @return The number of bytes from the start of the media up to the end of the seek index, which is all a
+   * demuxer needs to read before it can seek anywhere. -1 if the ranges are unknown, or the index does not
+   * directly follow the header.
+   */
+  public long getHeaderLength() {
+    if (initRange == null || indexRange == null || initRange.getStart() != 0 || indexRange.getStart() != initRange.getEnd() + 1) {
+      return -1;
+    }
+
+    return indexRange.getEnd() + 1;
+  }
+
   @Override
   public String toString() {
     return "YoutubeStreamFormat{" +
@@ -1,20 +1,31 @@
 package dev.lavalink.youtube.track.format;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.StringJoiner;
 
-import static com.sedmelluq.discord.lavaplayer.container.Formats.MIME_AUDIO_WEBM;
-
 public class TrackFormats {
     private final List<StreamFormat> formats;
     private final String playerScriptUrl;
+    private final URI hlsManifestUrl;
 
     public TrackFormats(@NotNull List<StreamFormat> formats,
                         @NotNull String playerScriptUrl) {
+        this(formats, playerScriptUrl, null);
+    }
+
+    public TrackFormats(@NotNull List<StreamFormat> formats,
+                        @NotNull String playerScriptUrl,
+                        @Nullable URI hlsManifestUrl) {
         this.formats = formats;
         this.playerScriptUrl = playerScriptUrl;
+        this.hlsManifestUrl = hlsManifestUrl;
     }
 
     @NotNull
@@ -27,19 +38,26 @@ public class TrackFormats {
         return playerScriptUrl;
     }
 
+    /**
+     * @return The HLS manifest URL from the streaming data, only present for livestreams.
+     */
+    @Nullable
+    public URI getHlsManifestUrl() {
+        return hlsManifestUrl;
+    }
+
     @NotNull
     public StreamFormat getBestFormat() {
-        StreamFormat bestFormat = null;
-
-        for (StreamFormat format : formats) {
-            if (!format.isDefaultAudioTrack()) {
-                continue;
-            }
+        return getBestFormat(FormatSelectionPolicy.DEFAULT);
+    }
 
-            if (isBetterFormat(format, bestFormat)) {
-                bestFormat = format;
-            }
-        }
+    /**
+     * @param policy Decides which of the formats is best.
+     * @return The best default audio track format according to the policy.
+     */
+    @NotNull
+    public StreamFormat getBestFormat(@NotNull FormatSelectionPolicy policy) {
+        StreamFormat bestFormat = getBestFormat(policy, Collections.emptyList());
 
         if (bestFormat == null) {
             StringJoiner joiner = new StringJoiner(", ");
@@ -50,24 +68,21 @@ public class TrackFormats {
         return bestFormat;
     }
 
-    private static boolean isBetterFormat(StreamFormat format, StreamFormat other) {
-        FormatInfo info = format.getInfo();
+    /**
+     * @param policy Decides which of the formats is best.
+     * @param excluded Formats to leave out, such as ones that already failed to play.
+     * @return The best of the remaining default audio track formats, or null if none of them is supported.
+     */
+    @Nullable
+    public StreamFormat getBestFormat(@NotNull FormatSelectionPolicy policy, @NotNull Collection<StreamFormat> excluded) {
+        List<StreamFormat> candidates = new ArrayList<>(formats.size());
 
-        if (info == null) {
-            return false;
-        } else if (other == null) {
-            return true;
-        } else if (MIME_AUDIO_WEBM.equals(info.mimeType) && format.getAudioChannels() > 2) {
-            // Opus with more than 2 audio channels is unsupported by LavaPlayer currently.
-            return false;
-        } else if (info.ordinal() != other.getInfo().ordinal()) {
-            return info.ordinal() < other.getInfo().ordinal();
-        } else if (format.isDrc() && !other.isDrc()) {
-            // prefer non-drc formats
-            // IF ANYTHING BREAKS/SOUNDS BAD, REMOVE THIS
-            return false;
-        } else {
-            return format.getBitrate() > other.getBitrate();
+        for (StreamFormat format : formats) {
+            if (format.isDefaultAudioTrack() && !excluded.contains(format)) {
+                candidates.add(format);
+            }
         }
+
+        return policy.select(candidates);
     }
 }
@@ -0,0 +1,115 @@
+package dev.lavalink.youtube.track.live;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the numeric headers YouTube puts in the {@code emsg} box of every live segment, directly from
+ * the message bytes. This is done for every segment of every live track, so it avoids decoding the
+ * message into a string or boxing the values.
+ */
+public final class EventMessageHeaders {
+    public static final long MISSING = -1;
+
+    private static final byte[] SEQUENCE_NUMBER = "Sequence-Number: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TARGET_DURATION_US = "Target-Duration-Us: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INGESTION_WALLTIME_US = "Ingestion-Walltime-Us: ".getBytes(StandardCharsets.US_ASCII);
+
+    private EventMessageHeaders() {
+
+    }
+
+    /**
+     * @param message The event message data, may be null.
+     * @return The value of the {@code Sequence-Number} header, or {@link #MISSING}.
+     */
+    public static long getSequenceNumber(@Nullable byte[] message) {
+        return findNumericHeader(message, SEQUENCE_NUMBER);
+    }
+
+    /**
+     * @param message The event message data, may be null.
+     * @return The value of the {@code Target-Duration-Us} header, or {@link #MISSING}.
+     */
+    public static long getTargetDurationUs(@Nullable byte[] message) {
+        return findNumericHeader(message, TARGET_DURATION_US);
+    }
+
+    /**
+     * @param message The event message data, may be null.
+     * @return The value of the {@code Ingestion-Walltime-Us} header, or {@link #MISSING}.
+     */
+    public static long getIngestionWalltimeUs(@Nullable byte[] message) {
+        return findNumericHeader(message, INGESTION_WALLTIME_US);
+    }
+
+    /**
+     * @return The non-negative decimal value following the given header name at the start of a line and terminated
+     *         by CRLF, or {@link #MISSING} if the header is absent or its value is not such a number.
+     */
+    static long findNumericHeader(@Nullable byte[] message, @NotNull byte[] name) {
+        if (message == null) {
+            return MISSING;
+        }
+
+        int start = findLine(message, name);
+
+        if (start == -1) {
+            return MISSING;
+        }
+
+        long value = 0;
+        int digits = 0;
+
+        for (int i = start + name.length; i < message.length; i++) {
+            byte b = message[i];
+
+            if (b == '\r') {
+                boolean terminated = i + 1 < message.length && message[i + 1] == '\n';
+                return terminated && digits > 0 ? value : MISSING;
+            }
+
+            // 18 digits always fit in a long.
+            if (b < '0' || b > '9' || ++digits > 18) {
+                return MISSING;
+            }
+
+            value = value * 10 + (b - '0');
+        }
+
+        return MISSING;
+    }
+
+    /**
+     * Compares the name only at the start of each line, and skips the rest of a line after the first byte that does
+     * not match, so every byte is looked at about once.
+     * @return The offset of the line that starts with the name, or -1 if there is none.
+     */
+    private static int findLine(byte[] data, byte[] name) {
+        int line = 0;
+
+        while (line + name.length <= data.length) {
+            int i = 0;
+
+            while (i < name.length && data[line + i] == name[i]) {
+                i++;
+            }
+
+            if (i == name.length) {
+                return line;
+            }
+
+            int end = line + i;
+
+            while (end < data.length && data[end] != '\n') {
+                end++;
+            }
+
+            line = end + 1;
+        }
+
+        return -1;
+    }
+}
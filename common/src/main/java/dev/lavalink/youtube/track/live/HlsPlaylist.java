@@ -0,0 +1,224 @@
+package dev.lavalink.youtube.track.live;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parts of an HLS playlist needed for live audio playback. A playlist is either a master playlist,
+ * listing the available renditions, or a media playlist, listing the segments of one rendition.
+ */
+public class HlsPlaylist {
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("([A-Z0-9-]+)=(\"[^\"]*\"|[^,]*)");
+    private static final long DEFAULT_TARGET_DURATION_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final List<Rendition> renditions;
+    private final List<URI> segments;
+    private final long mediaSequence;
+    private final long targetDurationMs;
+    private final boolean ended;
+    private final boolean fragmented;
+
+    private HlsPlaylist(List<Rendition> renditions,
+                        List<URI> segments,
+                        long mediaSequence,
+                        long targetDurationMs,
+                        boolean ended,
+                        boolean fragmented) {
+        this.renditions = renditions;
+        this.segments = segments;
+        this.mediaSequence = mediaSequence;
+        this.targetDurationMs = targetDurationMs;
+        this.ended = ended;
+        this.fragmented = fragmented;
+    }
+
+    /**
+     * @param baseUri The URI the playlist was loaded from, relative URIs in it are resolved against it.
+     * @param text The playlist.
+     */
+    @NotNull
+    public static HlsPlaylist parse(@NotNull URI baseUri, @NotNull String text) {
+        List<Rendition> renditions = new ArrayList<>();
+        List<URI> segments = new ArrayList<>();
+        long mediaSequence = 0;
+        long targetDurationMs = DEFAULT_TARGET_DURATION_MS;
+        boolean ended = false;
+        boolean fragmented = false;
+        Map<String, String> streamInfo = null;
+
+        for (String rawLine : text.split("\n")) {
+            String line = rawLine.trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (!line.startsWith("#")) {
+                URI uri = baseUri.resolve(line);
+
+                if (streamInfo != null) {
+                    String codecs = streamInfo.get("CODECS");
+                    renditions.add(new Rendition(uri, parseLong(streamInfo.get("BANDWIDTH"), 0), codecs, isAudioOnly(codecs), false));
+                    streamInfo = null;
+                } else {
+                    segments.add(uri);
+                }
+            } else if (line.startsWith("#EXT-X-STREAM-INF:")) {
+                streamInfo = parseAttributes(line);
+            } else if (line.startsWith("#EXT-X-MEDIA:")) {
+                Map<String, String> attributes = parseAttributes(line);
+                String uri = attributes.get("URI");
+
+                if ("AUDIO".equals(attributes.get("TYPE")) && uri != null) {
+                    renditions.add(new Rendition(baseUri.resolve(uri), 0, null, true, "YES".equals(attributes.get("DEFAULT"))));
+                }
+            } else if (line.startsWith("#EXT-X-MEDIA-SEQUENCE:")) {
+                mediaSequence = parseLong(valueOf(line), 0);
+            } else if (line.startsWith("#EXT-X-TARGETDURATION:")) {
+                targetDurationMs = TimeUnit.SECONDS.toMillis(parseLong(valueOf(line), 5));
+            } else if (line.startsWith("#EXT-X-ENDLIST")) {
+                ended = true;
+            } else if (line.startsWith("#EXT-X-MAP:")) {
+                fragmented = true;
+            }
+        }
+
+        return new HlsPlaylist(renditions, segments, mediaSequence, targetDurationMs, ended, fragmented);
+    }
+
+    /**
+     * @return True if this is a master playlist listing renditions rather than segments.
+     */
+    public boolean isMaster() {
+        return !renditions.isEmpty();
+    }
+
+    @NotNull
+    public List<Rendition> getRenditions() {
+        return Collections.unmodifiableList(renditions);
+    }
+
+    @NotNull
+    public List<URI> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * @return The media sequence number of the first segment in this playlist.
+     */
+    public long getMediaSequence() {
+        return mediaSequence;
+    }
+
+    public long getTargetDurationMs() {
+        return targetDurationMs;
+    }
+
+    /**
+     * @return True if the playlist is complete and will not get any more segments.
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * @return True if the segments are fragmented MP4 rather than MPEG-TS.
+     */
+    public boolean isFragmented() {
+        return fragmented;
+    }
+
+    /**
+     * Selects the audio-only rendition to play, the default one if marked, otherwise the one with the highest
+     * bandwidth. Variants with video are never selected, as even the smallest one is several times the size
+     * of the audio-only formats the track can be played from instead.
+     * @return The selected rendition, or null if there is no audio-only rendition.
+     */
+    @Nullable
+    public Rendition selectAudioRendition() {
+        Rendition selected = null;
+
+        for (Rendition rendition : renditions) {
+            if (rendition.audioOnly && (selected == null || (!selected.isDefault && (rendition.isDefault || rendition.bandwidth > selected.bandwidth)))) {
+                selected = rendition;
+            }
+        }
+
+        return selected;
+    }
+
+    private static boolean isAudioOnly(@Nullable String codecs) {
+        if (codecs == null) {
+            return false;
+        }
+
+        for (String codec : codecs.split(",")) {
+            String name = codec.trim();
+
+            if (!name.startsWith("mp4a") && !name.startsWith("opus") && !name.startsWith("ac-3") && !name.startsWith("ec-3")) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Map<String, String> parseAttributes(String line) {
+        Map<String, String> attributes = new HashMap<>();
+        Matcher matcher = ATTRIBUTE_PATTERN.matcher(line.substring(line.indexOf(':') + 1));
+
+        while (matcher.find()) {
+            String value = matcher.group(2);
+
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+
+            attributes.put(matcher.group(1), value);
+        }
+
+        return attributes;
+    }
+
+    private static String valueOf(String line) {
+        return line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static long parseLong(@Nullable String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static class Rendition {
+        public final URI uri;
+        public final long bandwidth;
+        public final String codecs;
+        public final boolean audioOnly;
+        public final boolean isDefault;
+
+        public Rendition(@NotNull URI uri, long bandwidth, @Nullable String codecs, boolean audioOnly, boolean isDefault) {
+            this.uri = uri;
+            this.bandwidth = bandwidth;
+            this.codecs = codecs;
+            this.audioOnly = audioOnly;
+            this.isDefault = isDefault;
+        }
+    }
+}
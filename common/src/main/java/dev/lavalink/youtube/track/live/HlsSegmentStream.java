@@ -0,0 +1,256 @@
+package dev.lavalink.youtube.track.live;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Continuous stream of the segments of a live HLS rendition. The media playlist is reloaded on the cadence
+ * it advertises (its target duration after a change, half of it otherwise), and new segments are
+ * downloaded with a bounded number of requests in flight while earlier ones are being read.
+ * The stream ends once the playlist is marked as ended, or stops changing for several target durations.
+ */
+public class HlsSegmentStream extends InputStream {
+    private static final Logger log = LoggerFactory.getLogger(HlsSegmentStream.class);
+
+    public static final int MAX_PARALLELISM = 4;
+
+    private static final int LIVE_EDGE_SEGMENTS = 3;
+    private static final int STALE_TARGET_DURATIONS = 3;
+
+    private final HttpInterface httpInterface;
+    private final URI manifestUrl;
+    private final ExecutorService executor;
+    private final Supplier<HttpInterface> interfaceSupplier;
+    private final int parallelism;
+    private final Deque<URI> queued = new ArrayDeque<>();
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    private URI mediaPlaylistUrl;
+    private long nextSequence = -1;
+    private long nextReloadAt;
+    private long lastChangeAt;
+    private boolean ended;
+    private InputStream current;
+
+    /**
+     * @param httpInterface HTTP interface used for playlist requests, from the reading thread.
+     * @param manifestUrl URL of the master or media playlist.
+     * @param executor Executor the segment downloads run on.
+     * @param interfaceSupplier Provides HTTP interfaces for segment downloads, called from the executor threads.
+     * @param parallelism The maximum number of segment downloads in flight, between 1 and {@link #MAX_PARALLELISM}.
+     */
+    public HlsSegmentStream(@NotNull HttpInterface httpInterface,
+                            @NotNull URI manifestUrl,
+                            @NotNull ExecutorService executor,
+                            @NotNull Supplier<HttpInterface> interfaceSupplier,
+                            int parallelism) {
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("Parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+
+        this.httpInterface = httpInterface;
+        this.manifestUrl = manifestUrl;
+        this.executor = executor;
+        this.interfaceSupplier = interfaceSupplier;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads the playlists up front, so that unsupported streams can be rejected before playback starts.
+     * @return False if the stream cannot be played by this class (fragmented MP4 segments, or no
+     *         rendition or segment to play).
+     * @throws IOException If a playlist cannot be loaded.
+     */
+    public boolean prepare() throws IOException {
+        if (mediaPlaylistUrl == null) {
+            HlsPlaylist playlist = loadPlaylist(manifestUrl);
+
+            if (playlist.isMaster()) {
+                HlsPlaylist.Rendition rendition = playlist.selectAudioRendition();
+
+                if (rendition == null) {
+                    log.debug("HLS master playlist {} has no audio-only rendition.", manifestUrl);
+                    return false;
+                }
+
+                log.debug("Selected HLS rendition {}", rendition.uri);
+
+                mediaPlaylistUrl = rendition.uri;
+                playlist = loadPlaylist(mediaPlaylistUrl);
+            } else {
+                mediaPlaylistUrl = manifestUrl;
+            }
+
+            if (playlist.isFragmented()) {
+                return false;
+            }
+
+            if (playlist.getSegments().isEmpty()) {
+                // Also the case for a master playlist that lists no variants, as it is parsed as an empty media playlist.
+                log.debug("HLS playlist {} has no segments.", mediaPlaylistUrl);
+                return false;
+            }
+
+            update(playlist);
+        }
+
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(@NotNull byte[] buffer, int offset, int length) throws IOException {
+        while (true) {
+            if (current != null) {
+                int read = current.read(buffer, offset, length);
+
+                if (read != -1) {
+                    return read;
+                }
+
+                current = null;
+            }
+
+            if (!nextSegment()) {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Future<byte[]> future : inFlight) {
+            future.cancel(false);
+        }
+
+        inFlight.clear();
+        queued.clear();
+        ended = true;
+    }
+
+    private boolean nextSegment() throws IOException {
+        if (!prepare()) {
+            throw new IOException("HLS stream cannot be played.");
+        }
+
+        try {
+            while (true) {
+                while (inFlight.size() < parallelism && !queued.isEmpty()) {
+                    URI segmentUrl = queued.poll();
+                    inFlight.add(executor.submit(() -> fetchSegment(segmentUrl)));
+                }
+
+                if (!inFlight.isEmpty()) {
+                    current = new ByteArrayInputStream(await(inFlight.poll()));
+                    return true;
+                }
+
+                if (ended) {
+                    return false;
+                }
+
+                long delay = nextReloadAt - System.currentTimeMillis();
+
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+
+                update(loadPlaylist(mediaPlaylistUrl));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void update(HlsPlaylist playlist) {
+        List<URI> segments = playlist.getSegments();
+        long firstSequence = playlist.getMediaSequence();
+        long now = System.currentTimeMillis();
+
+        if (nextSequence == -1) {
+            // Start close to the live edge, like players do, unless the whole stream is already available.
+            int start = playlist.isEnded() ? 0 : Math.max(0, segments.size() - LIVE_EDGE_SEGMENTS);
+            nextSequence = firstSequence + start;
+            lastChangeAt = now;
+        }
+
+        boolean changed = false;
+
+        for (int i = 0; i < segments.size(); i++) {
+            long sequence = firstSequence + i;
+
+            if (sequence >= nextSequence) {
+                queued.add(segments.get(i));
+                nextSequence = sequence + 1;
+                changed = true;
+            }
+        }
+
+        long targetDurationMs = playlist.getTargetDurationMs();
+
+        if (changed) {
+            lastChangeAt = now;
+        } else if (now - lastChangeAt >= targetDurationMs * STALE_TARGET_DURATIONS) {
+            log.debug("HLS playlist {} has not changed for {} ms, treating stream as ended.", mediaPlaylistUrl, now - lastChangeAt);
+            ended = true;
+        }
+
+        ended |= playlist.isEnded();
+        nextReloadAt = now + (changed ? targetDurationMs : targetDurationMs / 2);
+    }
+
+    private HlsPlaylist loadPlaylist(URI url) throws IOException {
+        try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(url))) {
+            HttpClientTools.assertSuccessWithContent(response, "HLS playlist");
+            return HlsPlaylist.parse(url, EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private byte[] fetchSegment(URI url) throws IOException {
+        try (HttpInterface segmentInterface = interfaceSupplier.get();
+             CloseableHttpResponse response = segmentInterface.execute(new HttpGet(url))) {
+            HttpClientTools.assertSuccessWithContent(response, "HLS segment");
+            return EntityUtils.toByteArray(response.getEntity());
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            throw new IOException("Failed to load HLS segment", cause);
+        }
+    }
+}
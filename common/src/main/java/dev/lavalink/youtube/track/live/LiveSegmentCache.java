@@ -0,0 +1,67 @@
+package dev.lavalink.youtube.track.live;
+
+import dev.lavalink.youtube.cache.TieredByteCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Per-node cache of recently played livestream segments, keyed by stream and sequence number, so that
+ * rewinding within recent history does not download the same segments from YouTube again. Segments are
+ * kept in memory up to a byte limit, the least recently used ones are then moved to an optional disk
+ * directory, which has its own byte limit.
+ */
+public class LiveSegmentCache implements Closeable {
+    private static final String FILE_SUFFIX = ".seg";
+
+    private final TieredByteCache cache;
+
+    /**
+     * @param maxMemoryBytes The maximum total size of the segments kept in memory, segments beyond it are dropped.
+     */
+    public LiveSegmentCache(long maxMemoryBytes) {
+        this.cache = new TieredByteCache(maxMemoryBytes);
+    }
+
+    /**
+     * @param maxMemoryBytes The maximum total size of the segments kept in memory.
+     * @param directory Directory to move segments to once they no longer fit in memory, null to drop them
+     *                  instead. Any segment files left in it by a previous run are deleted.
+     * @param maxDiskBytes The maximum total size of the segments kept on disk.
+     */
+    public LiveSegmentCache(long maxMemoryBytes, @Nullable Path directory, long maxDiskBytes) throws IOException {
+        this.cache = new TieredByteCache(maxMemoryBytes, directory, maxDiskBytes, FILE_SUFFIX, false);
+    }
+
+    /**
+     * @param streamKey Identifies the stream and format, see {@link LiveSegmentHub#streamKey(String, String)}.
+     * @param sequence The sequence number of the segment.
+     * @return The cached segment, or null if it is not cached.
+     */
+    @Nullable
+    public byte[] get(@NotNull String streamKey, long sequence) {
+        return cache.get(segmentId(streamKey, sequence));
+    }
+
+    /**
+     * @param streamKey Identifies the stream and format, see {@link LiveSegmentHub#streamKey(String, String)}.
+     * @param sequence The sequence number of the segment.
+     * @param data The segment data.
+     */
+    public void put(@NotNull String streamKey, long sequence, @NotNull byte[] data) {
+        cache.put(segmentId(streamKey, sequence), data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        cache.close();
+    }
+
+    private static String segmentId(String streamKey, long sequence) {
+        // Stream keys are made of video IDs and itags, only the separator needs replacing to be safe as a file name.
+        return streamKey.replace(':', '_') + "_" + sequence;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.lavalink.youtube.track.live;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded ring of the most recent segments of a single livestream format. The first track to
+ * ask for a segment downloads it, any other track asking for the same segment in the meantime
+ * waits for that download instead of starting its own.
+ */
+public class LiveSegmentFeed {
+    private final ConcurrentNavigableMap<Long, CompletableFuture<byte[]>> segments = new ConcurrentSkipListMap<>();
+    private final String key;
+    private final int capacity;
+
+    // guarded by LiveSegmentHub#feeds
+    int listeners;
+
+    LiveSegmentFeed(@NotNull String key, int capacity) {
+        this.key = key;
+        this.capacity = capacity;
+    }
+
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @param sequence The sequence number of the segment.
+     * @param loader Downloads the segment if no other track has done so yet.
+     * @return The segment data, or null if the segment is not available (yet).
+     */
+    @Nullable
+    public byte[] getSegment(long sequence, @NotNull SegmentLoader loader) throws IOException, InterruptedException {
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = segments.putIfAbsent(sequence, pending);
+
+        if (existing == null) {
+            return load(sequence, pending, loader);
+        }
+
+        try {
+            return await(existing);
+        } catch (IOException | RuntimeException e) {
+            // The other track's URL may have expired or been blocked while this one's is still valid.
+            CompletableFuture<byte[]> retry = new CompletableFuture<>();
+            existing = segments.putIfAbsent(sequence, retry);
+            return existing != null ? await(existing) : load(sequence, retry, loader);
+        }
+    }
+
+    @Nullable
+    private byte[] load(long sequence, CompletableFuture<byte[]> pending, SegmentLoader loader) throws IOException {
+        byte[] data;
+
+        try {
+            data = loader.load();
+        } catch (IOException | RuntimeException e) {
+            segments.remove(sequence, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        if (data == null) {
+            // Not ready yet, the next request for it has to go to YouTube again.
+            segments.remove(sequence, pending);
+        }
+
+        pending.complete(data);
+        trim();
+        return data;
+    }
+
+    private void trim() {
+        while (segments.size() > capacity) {
+            segments.pollFirstEntry();
+        }
+    }
+
+    @Nullable
+    private static byte[] await(CompletableFuture<byte[]> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SegmentLoader {
+        /**
+         * @return The segment data, or null if the segment is not available (yet).
+         */
+        @Nullable
+        byte[] load() throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.lavalink.youtube.track.live;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node registry of {@link LiveSegmentFeed}s, so that every track playing the same livestream
+ * (in the same format) reads its segments from a single feed instead of downloading them itself.
+ * Feeds are reference counted and dropped once the last track using them has finished.
+ */
+public class LiveSegmentHub {
+    private static final Logger log = LoggerFactory.getLogger(LiveSegmentHub.class);
+
+    public static int DEFAULT_SEGMENTS_PER_FEED = 16;
+
+    private final Map<String, LiveSegmentFeed> feeds = new ConcurrentHashMap<>();
+    private final int segmentsPerFeed;
+
+    public LiveSegmentHub() {
+        this(DEFAULT_SEGMENTS_PER_FEED);
+    }
+
+    /**
+     * @param segmentsPerFeed The number of most recent segments each feed keeps in memory.
+     */
+    public LiveSegmentHub(int segmentsPerFeed) {
+        this.segmentsPerFeed = segmentsPerFeed;
+    }
+
+    /**
+     * Returns the feed for the given stream, creating it if necessary. Every call must be paired with
+     * a call to {@link #release(LiveSegmentFeed)} once the caller stops reading from the feed.
+     * @param videoId The ID of the livestream.
+     * @param itag The itag of the format being played. Segments of different formats are never shared.
+     */
+    @NotNull
+    public LiveSegmentFeed acquire(@NotNull String videoId, @NotNull String itag) {
+        return feeds.compute(streamKey(videoId, itag), (k, feed) -> {
+            if (feed == null) {
+                log.debug("Opening shared segment feed for {}", k);
+                feed = new LiveSegmentFeed(k, segmentsPerFeed);
+            }
+
+            feed.listeners++;
+            return feed;
+        });
+    }
+
+    /**
+     * @param feed A feed previously returned by {@link #acquire(String, String)}.
+     */
+    public void release(@NotNull LiveSegmentFeed feed) {
+        feeds.computeIfPresent(feed.getKey(), (k, existing) -> {
+            if (existing != feed || --existing.listeners > 0) {
+                return existing;
+            }
+
+            log.debug("Closing shared segment feed for {}", k);
+            return null;
+        });
+    }
+
+    /**
+     * @return The key identifying segments of the given stream and format, shared with {@link LiveSegmentCache}.
+     */
+    @NotNull
+    public static String streamKey(@NotNull String videoId, @NotNull String itag) {
+        return videoId + ":" + itag;
+    }
+
+    /**
+     * @return The number of livestreams that currently have a shared feed.
+     */
+    public int getFeedCount() {
+        return feeds.size();
+    }
+}
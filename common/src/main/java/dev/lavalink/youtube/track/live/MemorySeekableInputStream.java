@@ -0,0 +1,70 @@
+package dev.lavalink.youtube.track.live;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seekable stream over a segment that has already been downloaded into memory.
+ */
+public class MemorySeekableInputStream extends SeekableInputStream {
+    private final byte[] data;
+    private int position;
+
+    public MemorySeekableInputStream(@NotNull byte[] data) {
+        super(data.length, data.length);
+        this.data = data;
+    }
+
+    @Override
+    public int read() {
+        return position < data.length ? data[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(@NotNull byte[] buffer, int offset, int length) {
+        if (position >= data.length) {
+            return -1;
+        }
+
+        int count = Math.min(length, data.length - position);
+        System.arraycopy(data, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        int count = (int) Math.max(0, Math.min(n, data.length - position));
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return data.length - position;
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        this.position = (int) Math.max(0, Math.min(position, data.length));
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return true;
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return Collections.emptyList();
+    }
+}
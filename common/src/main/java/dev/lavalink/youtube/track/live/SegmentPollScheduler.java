@@ -0,0 +1,127 @@
+package dev.lavalink.youtube.track.live;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when to ask for a livestream segment again after YouTube reported that it is not available
+ * yet. Delays are derived from the target duration advertised in the segments and from when the
+ * previous segment arrived, with jittered exponential backoff, so that thousands of listeners do not
+ * poll in lockstep. Before the target duration is known, the fixed 50 ms / 400 ms retry behaviour is used.
+ * An instance belongs to a single track and must only be used from its playback thread.
+ */
+public class SegmentPollScheduler {
+    private static final long DEFAULT_RETRY_INTERVAL_MS = 50;
+    private static final long DEFAULT_RETRY_THRESHOLD_MS = 400;
+    private static final long MIN_RETRY_INTERVAL_MS = 50;
+
+    private final boolean lowLatency;
+    private final LongSupplier clock;
+    private long targetDurationMs;
+    private long lastSegmentAt;
+    private long lastSequence = -1;
+    private long lastIngestedAt;
+
+    /**
+     * @param lowLatency Whether to retry aggressively once a segment is due, trading extra requests
+     *                   for staying closer to the live edge.
+     */
+    public SegmentPollScheduler(boolean lowLatency) {
+        this(lowLatency, System::currentTimeMillis);
+    }
+
+    /**
+     * @param lowLatency Whether to retry aggressively once a segment is due.
+     * @param clock Provides the current time in milliseconds.
+     */
+    public SegmentPollScheduler(boolean lowLatency, @NotNull LongSupplier clock) {
+        this.lowLatency = lowLatency;
+        this.clock = clock;
+    }
+
+    /**
+     * Records that a segment has been received.
+     * @param targetDurationMs The target duration advertised in the segment, or {@code 0} if it had none.
+     */
+    public void onSegment(long targetDurationMs) {
+        if (targetDurationMs > 0) {
+            this.targetDurationMs = targetDurationMs;
+        }
+
+        lastSegmentAt = clock.getAsLong();
+    }
+
+    /**
+     * Records that a livestream segment has been received.
+     * @param sequence The sequence number of the segment.
+     * @param targetDurationMs The target duration advertised in the segment.
+     * @param ingestedAtMs The wall clock time YouTube ingested the segment at, or {@code 0} if unknown.
+     */
+    public void onSegment(long sequence, long targetDurationMs, long ingestedAtMs) {
+        onSegment(targetDurationMs);
+        lastSequence = sequence;
+        lastIngestedAt = ingestedAtMs;
+    }
+
+    /**
+     * @param sequence The sequence number of a livestream segment.
+     * @return True if the segment should already exist, because it is not past the last received one or enough
+     *         time has passed since that one was ingested. False if it is likely still ahead of the live edge.
+     */
+    public boolean isAvailable(long sequence) {
+        if (lastSequence < 0) {
+            return false;
+        } else if (sequence <= lastSequence) {
+            return true;
+        } else if (targetDurationMs <= 0 || lastIngestedAt <= 0) {
+            return false;
+        }
+
+        // Leave a whole segment of margin, as a segment is only complete a target duration after it started.
+        return lastIngestedAt + (sequence - lastSequence + 1) * targetDurationMs <= clock.getAsLong();
+    }
+
+    /**
+     * @param waitStart The time the first empty response for the current segment was received.
+     * @return The time after which no more attempts should be made and the stream is considered finished.
+     */
+    public long getDeadline(long waitStart) {
+        if (targetDurationMs <= 0) {
+            return waitStart + DEFAULT_RETRY_THRESHOLD_MS;
+        }
+
+        return Math.max(waitStart, getExpectedAt()) + Math.max(DEFAULT_RETRY_THRESHOLD_MS, targetDurationMs);
+    }
+
+    /**
+     * @param attempt The number of retries already made for the current segment.
+     * @return How long to wait before the next attempt.
+     */
+    public long getRetryDelay(int attempt) {
+        if (targetDurationMs <= 0) {
+            return DEFAULT_RETRY_INTERVAL_MS;
+        }
+
+        long base = Math.max(MIN_RETRY_INTERVAL_MS, targetDurationMs / (lowLatency ? 20 : 5));
+        long cap = Math.max(base, targetDurationMs / (lowLatency ? 4 : 2));
+        long delay = jitter(Math.min(cap, base << Math.min(attempt, 16)));
+
+        if (attempt == 0) {
+            // The segment is most likely just not due yet, so there is no point in asking before then.
+            delay = Math.max(delay, getExpectedAt() - clock.getAsLong());
+        }
+
+        return delay;
+    }
+
+    private long getExpectedAt() {
+        return lastSegmentAt + targetDurationMs;
+    }
+
+    private static long jitter(long delay) {
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,139 @@
+package dev.lavalink.youtube.track.live;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Downloads the next few segments of a livestream into memory while the current one is being
+ * decoded, so that playback does not wait for a full HTTP round-trip at every segment boundary.
+ * Only segments that should already exist are prefetched. At the live edge the next segment is not
+ * there yet, so a prefetch would only come back empty and be requested again.
+ * An instance belongs to a single track and must only be used from its playback thread.
+ */
+public class SegmentPrefetcher {
+    private static final Logger log = LoggerFactory.getLogger(SegmentPrefetcher.class);
+
+    public static final int MAX_DEPTH = 2;
+
+    private final Map<Long, Future<byte[]>> pending = new HashMap<>();
+    private final ExecutorService executor;
+    private final Supplier<HttpInterface> interfaceSupplier;
+    private final LongPredicate available;
+    private final int depth;
+
+    /**
+     * @param executor Executor the prefetch requests are run on.
+     * @param interfaceSupplier Provides the HTTP interfaces used by prefetch requests. These are
+     *                          called from the executor threads.
+     * @param available Tells whether the segment with a sequence number should already exist.
+     * @param depth How many segments to fetch ahead of the current one, between 1 and {@link #MAX_DEPTH}.
+     */
+    public SegmentPrefetcher(@NotNull ExecutorService executor,
+                             @NotNull Supplier<HttpInterface> interfaceSupplier,
+                             @NotNull LongPredicate available,
+                             int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Prefetch depth must be between 1 and " + MAX_DEPTH);
+        }
+
+        this.executor = executor;
+        this.interfaceSupplier = interfaceSupplier;
+        this.available = available;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns the given segment, from a previous prefetch if there is one, otherwise by running its
+     * request on the calling thread. Once the segment is available, prefetching of the segments
+     * following it that should already exist is started.
+     * @param httpInterface HTTP interface to use if the segment has to be fetched on the calling thread.
+     * @param sequence The sequence number of the segment.
+     * @param requests Creates the request for a sequence number. Always called on the calling thread.
+     * @return The segment data, or null if the segment is not available (yet).
+     */
+    @Nullable
+    public byte[] fetch(@NotNull HttpInterface httpInterface,
+                        long sequence,
+                        @NotNull LongFunction<SegmentRequest> requests) throws IOException, InterruptedException {
+        Future<byte[]> prefetched = pending.remove(sequence);
+
+        // Anything outside of the new window is stale, either already played or left behind by a seek.
+        pending.entrySet().removeIf(entry -> {
+            long key = entry.getKey();
+            boolean stale = key < sequence || key > sequence + depth;
+
+            if (stale) {
+                entry.getValue().cancel(false);
+            }
+
+            return stale;
+        });
+
+        byte[] data = prefetched != null ? await(prefetched, sequence) : null;
+
+        if (data == null) {
+            data = requests.apply(sequence).execute(httpInterface);
+        }
+
+        if (data != null) {
+            for (long next = sequence + 1; next <= sequence + depth && available.test(next); next++) {
+                if (!pending.containsKey(next)) {
+                    SegmentRequest request = requests.apply(next);
+
+                    pending.put(next, executor.submit(() -> {
+                        try (HttpInterface prefetchInterface = interfaceSupplier.get()) {
+                            return request.execute(prefetchInterface);
+                        }
+                    }));
+                }
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Drops all pending prefetches.
+     */
+    public void cancel() {
+        for (Future<byte[]> future : pending.values()) {
+            future.cancel(false);
+        }
+
+        pending.clear();
+    }
+
+    @Nullable
+    private static byte[] await(Future<byte[]> future, long sequence) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // Not fatal, the segment is requested again on the playback thread, which surfaces the error properly.
+            log.debug("Prefetch of segment {} failed.", sequence, e.getCause());
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SegmentRequest {
+        /**
+         * @param httpInterface HTTP interface to perform the request with.
+         * @return The segment data, or null if the segment is not available (yet).
+         */
+        @Nullable
+        byte[] execute(@NotNull HttpInterface httpInterface) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,95 @@
+import dev.lavalink.youtube.cache.AudioFileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class AudioFileCacheTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audio-file-cache");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testCachesAfterAdmissionPlaysAndExtendsPrefix() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory, 100, 2);
+        Assertions.assertNull(cache.open("video", 251, 8));
+
+        try (AudioFileCache.Entry entry = cache.open("video", 251, 8)) {
+            Assertions.assertEquals(0, entry.getCachedPrefix().limit());
+            entry.write(0, new byte[] { 0, 1, 2 }, 0, 3);
+            // Not contiguous with the cached prefix, dropped.
+            entry.write(5, new byte[] { 5 }, 0, 1);
+        }
+
+        try (AudioFileCache.Entry entry = cache.open("video", 251, 8)) {
+            Assertions.assertFalse(entry.isComplete());
+            Assertions.assertArrayEquals(new byte[] { 0, 1, 2 }, toArray(entry.getCachedPrefix()));
+            entry.write(3, new byte[] { 3, 4, 5, 6, 7 }, 0, 5);
+        }
+
+        // A new instance picks up the files of the previous one.
+        try (AudioFileCache.Entry entry = new AudioFileCache(directory, 100, 2).open("video", 251, 8)) {
+            Assertions.assertTrue(entry.isComplete());
+            Assertions.assertArrayEquals(new byte[] { 0, 1, 2, 3, 4, 5, 6, 7 }, toArray(entry.getCachedPrefix()));
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedFiles() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory, 10, 1);
+
+        try (AudioFileCache.Entry entry = cache.open("a", 140, 6)) {
+            entry.write(0, new byte[6], 0, 6);
+        }
+
+        try (AudioFileCache.Entry entry = cache.open("b", 140, 6)) {
+            entry.write(0, new byte[6], 0, 6);
+        }
+
+        Assertions.assertFalse(Files.exists(directory.resolve("a_140_6.audio")));
+        Assertions.assertTrue(Files.exists(directory.resolve("b_140_6.audio")));
+    }
+
+    @Test
+    public void testStopsWritingWhenFullOfFilesInUse() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory, 10, 1);
+
+        try (AudioFileCache.Entry first = cache.open("a", 140, 6);
+             AudioFileCache.Entry second = cache.open("b", 140, 6)) {
+            first.write(0, new byte[6], 0, 6);
+            second.write(0, new byte[6], 0, 6);
+
+            // The first file cannot be evicted while it is being played.
+            Assertions.assertEquals(6, cache.getUsedBytes());
+            Assertions.assertFalse(second.accepts(0));
+        }
+
+        Assertions.assertTrue(Files.exists(directory.resolve("a_140_6.audio")));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+}
@@ -0,0 +1,49 @@
+import dev.lavalink.youtube.track.live.EventMessageHeaders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class EventMessageHeadersTest {
+    private static final byte[] MESSAGE = ("Sequence-Number: 2734851\r\n"
+        + "Ingestion-Walltime-Us: 1718022463311227\r\n"
+        + "Target-Duration-Us: 5000000\r\n"
+        + "Stream-Finished: F\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void testReadsHeaders() {
+        Assertions.assertEquals(2734851, EventMessageHeaders.getSequenceNumber(MESSAGE));
+        Assertions.assertEquals(5000000, EventMessageHeaders.getTargetDurationUs(MESSAGE));
+        Assertions.assertEquals(1718022463311227L, EventMessageHeaders.getIngestionWalltimeUs(MESSAGE));
+    }
+
+    @Test
+    public void testMissingHeaders() {
+        byte[] message = "Stream-Finished: T\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(EventMessageHeaders.MISSING, EventMessageHeaders.getSequenceNumber(null));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, EventMessageHeaders.getSequenceNumber(message));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, EventMessageHeaders.getTargetDurationUs(message));
+    }
+
+    @Test
+    public void testRejectsMalformedValues() {
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Sequence-Number: 12a4\r\n"));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Sequence-Number: \r\n"));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Sequence-Number: 1234"));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Sequence-Number: 1234\r"));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Sequence-Number: 1234567890123456789\r\n"));
+    }
+
+    @Test
+    public void testMatchesWholeHeaderNames() {
+        String message = "Finally-Ingested-Segment-Sequence-Number: 5\r\nSequence-Number: 7\r\n";
+
+        Assertions.assertEquals(7, sequenceOf(message));
+        Assertions.assertEquals(EventMessageHeaders.MISSING, sequenceOf("Finally-Ingested-Segment-Sequence-Number: 5\r\n"));
+    }
+
+    private static long sequenceOf(String message) {
+        return EventMessageHeaders.getSequenceNumber(message.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,204 @@
+import com.sedmelluq.discord.lavaplayer.tools.http.HttpContextFilter;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import com.sun.net.httpserver.HttpServer;
+import dev.lavalink.youtube.track.live.HlsPlaylist;
+import dev.lavalink.youtube.track.live.HlsSegmentStream;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a livestream from a local HLS stand-in that publishes a new segment on every playlist reload.
+ */
+public class HlsSegmentStreamTest {
+    private static final String MASTER = "#EXTM3U\n"
+        + "#EXT-X-STREAM-INF:BANDWIDTH=1200000,CODECS=\"mp4a.40.2,avc1.4d401f\"\n"
+        + "video/720.m3u8\n"
+        + "#EXT-X-STREAM-INF:BANDWIDTH=300000,CODECS=\"mp4a.40.2,avc1.42c00d\"\n"
+        + "video/144.m3u8\n"
+        + "#EXT-X-MEDIA:TYPE=AUDIO,GROUP-ID=\"234\",NAME=\"Default\",DEFAULT=YES,URI=\"audio/234.m3u8\"\n";
+
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger playlistRequests = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private CloseableHttpClient httpClient;
+    private URI baseUri;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = "/audio/234.m3u8".equals(path) ? nextMediaPlaylist() : responses.get(path);
+
+            if ("/forbidden.m3u8".equals(path)) {
+                exchange.sendResponseHeaders(403, -1);
+            } else if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            }
+
+            exchange.close();
+        });
+        server.start();
+
+        executor = Executors.newCachedThreadPool();
+        httpClient = HttpClients.createDefault();
+        baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+
+        responses.put("/master.m3u8", MASTER.getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 8; i++) {
+            responses.put("/audio/seg" + i + ".ts", ("seg" + i + ";").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.stop(0);
+        executor.shutdownNow();
+        httpClient.close();
+    }
+
+    @Test
+    public void testSelectsAudioOnlyRendition() {
+        HlsPlaylist playlist = HlsPlaylist.parse(baseUri.resolve("master.m3u8"), MASTER);
+
+        Assertions.assertTrue(playlist.isMaster());
+        Assertions.assertEquals(baseUri.resolve("audio/234.m3u8"), playlist.selectAudioRendition().uri);
+    }
+
+    @Test
+    public void testRejectsMasterWithoutAudioRendition() throws IOException {
+        responses.put("/muxed.m3u8", MASTER.substring(0, MASTER.indexOf("#EXT-X-MEDIA")).getBytes(StandardCharsets.UTF_8));
+
+        try (HttpInterface httpInterface = createInterface();
+             HlsSegmentStream stream = new HlsSegmentStream(httpInterface, baseUri.resolve("muxed.m3u8"),
+                 executor, this::createInterface, 2)) {
+            // Only muxed video variants, the track plays its audio-only formats instead.
+            Assertions.assertFalse(stream.prepare());
+        }
+    }
+
+    @Test
+    public void testPlaysSegmentsInOrderUntilEnd() throws IOException {
+        try (HttpInterface httpInterface = createInterface();
+             HlsSegmentStream stream = new HlsSegmentStream(httpInterface, baseUri.resolve("master.m3u8"),
+                 executor, this::createInterface, 2)) {
+            Assertions.assertTrue(stream.prepare());
+
+            // The first playlist has segments 0-3, playback starts 3 segments from the live edge.
+            Assertions.assertEquals("seg1;seg2;seg3;seg4;seg5;seg6;seg7;", readAll(stream));
+        }
+
+        Assertions.assertTrue(playlistRequests.get() >= 5);
+    }
+
+    @Test
+    public void testRejectsForbiddenManifest() throws IOException {
+        try (HttpInterface httpInterface = createInterface();
+             HlsSegmentStream stream = new HlsSegmentStream(httpInterface, baseUri.resolve("forbidden.m3u8"),
+                 executor, this::createInterface, 2)) {
+            // Thrown to the track, which then plays the stream from its formats instead.
+            Assertions.assertThrows(IOException.class, stream::prepare);
+        }
+    }
+
+    @Test
+    public void testRejectsMasterWithoutRenditions() throws IOException {
+        responses.put("/empty.m3u8", "#EXTM3U\n#EXT-X-INDEPENDENT-SEGMENTS\n#EXT-X-STREAM-INF:BANDWIDTH=1\n".getBytes(StandardCharsets.UTF_8));
+
+        try (HttpInterface httpInterface = createInterface();
+             HlsSegmentStream stream = new HlsSegmentStream(httpInterface, baseUri.resolve("empty.m3u8"),
+                 executor, this::createInterface, 2)) {
+            Assertions.assertFalse(stream.prepare());
+        }
+    }
+
+    /**
+     * Sliding window of 4 segments, advanced by one on every reload, ended once the last segment is in.
+     */
+    private byte[] nextMediaPlaylist() {
+        int first = playlistRequests.getAndIncrement();
+        StringBuilder builder = new StringBuilder("#EXTM3U\n#EXT-X-TARGETDURATION:1\n#EXT-X-MEDIA-SEQUENCE:")
+            .append(first)
+            .append('\n');
+
+        for (int i = first; i < Math.min(first + 4, 8); i++) {
+            builder.append("#EXTINF:1.0,\nseg").append(i).append(".ts\n");
+        }
+
+        if (first + 4 >= 8) {
+            builder.append("#EXT-X-ENDLIST\n");
+        }
+
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private HttpInterface createInterface() {
+        return new HttpInterface(httpClient, new HttpClientContext(), false, noOpFilter);
+    }
+
+    private static String readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[3];
+        int read;
+
+        while ((read = stream.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final HttpContextFilter noOpFilter = new HttpContextFilter() {
+        @Override
+        public void onContextOpen(HttpClientContext context) {
+
+        }
+
+        @Override
+        public void onContextClose(HttpClientContext context) {
+
+        }
+
+        @Override
+        public void onRequest(HttpClientContext context, org.apache.http.client.methods.HttpUriRequest request, boolean isRepetition) {
+
+        }
+
+        @Override
+        public boolean onRequestResponse(HttpClientContext context, org.apache.http.client.methods.HttpUriRequest request, HttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public boolean onRequestException(HttpClientContext context, org.apache.http.client.methods.HttpUriRequest request, Throwable error) {
+            return false;
+        }
+    };
+}
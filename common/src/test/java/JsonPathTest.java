@@ -0,0 +1,81 @@
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import dev.lavalink.youtube.json.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class JsonPathTest {
+    private static final String SEARCH_RESPONSE = "{\"contents\":{\"sectionListRenderer\":{\"contents\":["
+        + "{\"itemSectionRenderer\":{\"contents\":["
+        + "{\"compactVideoRenderer\":{\"videoId\":\"a\",\"title\":{\"runs\":[{\"text\":\"First\"}]}}},"
+        + "{\"adSlotRenderer\":{}},"
+        + "{\"compactVideoRenderer\":{\"videoId\":\"b\"}}"
+        + "]}},"
+        + "{\"continuationItemRenderer\":{}},"
+        + "{\"itemSectionRenderer\":{\"contents\":[{\"compactVideoRenderer\":{\"videoId\":\"c\"}}]}}"
+        + "]}}}";
+
+    @Test
+    public void testCollectsAllMatchesInOrder() throws IOException {
+        JsonBrowser json = JsonBrowser.parse(SEARCH_RESPONSE);
+        JsonPath path = JsonPath.compile("contents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].compactVideoRenderer");
+
+        List<JsonBrowser> renderers = path.getAll(json);
+
+        Assertions.assertEquals(3, renderers.size());
+        Assertions.assertEquals("a", renderers.get(0).get("videoId").text());
+        Assertions.assertEquals("b", renderers.get(1).get("videoId").text());
+        Assertions.assertEquals("c", renderers.get(2).get("videoId").text());
+        Assertions.assertEquals("a", path.get(json).get("videoId").text());
+    }
+
+    @Test
+    public void testFollowsIndexes() throws IOException {
+        JsonBrowser json = JsonBrowser.parse(SEARCH_RESPONSE);
+
+        Assertions.assertEquals("First", JsonPath.compile("contents.sectionListRenderer.contents[0].itemSectionRenderer.contents[0].compactVideoRenderer.title.runs[0].text").text(json));
+        Assertions.assertEquals("c", JsonPath.compile("contents.sectionListRenderer.contents[2].itemSectionRenderer.contents[0].compactVideoRenderer.videoId").text(json));
+    }
+
+    @Test
+    public void testMissingValuesGiveNull() throws IOException {
+        JsonBrowser json = JsonBrowser.parse(SEARCH_RESPONSE);
+
+        Assertions.assertTrue(JsonPath.compile("contents.twoColumnSearchResultsRenderer.primaryContents").get(json).isNull());
+        Assertions.assertTrue(JsonPath.compile("contents.sectionListRenderer.contents[5]").get(json).isNull());
+        Assertions.assertTrue(JsonPath.compile("contents[*].videoRenderer").getAll(json).isEmpty());
+        Assertions.assertNull(JsonPath.compile("contents.sectionListRenderer.contents[0].itemSectionRenderer.contents[2].compactVideoRenderer.title.runs[0].text").text(json));
+    }
+
+    @Test
+    public void testReturnsValuesOfTheSameTree() throws IOException {
+        JsonBrowser json = JsonBrowser.parse(SEARCH_RESPONSE);
+        JsonPath path = JsonPath.compile("contents.sectionListRenderer.contents[*].itemSectionRenderer.contents[*].compactVideoRenderer");
+
+        path.get(json).put("lengthText", "3:32");
+        path.getAll(json).get(1).put("lengthText", "1:00");
+
+        JsonBrowser results = json.get("contents").get("sectionListRenderer").get("contents").index(0).get("itemSectionRenderer").get("contents");
+        Assertions.assertEquals("3:32", results.index(0).get("compactVideoRenderer").get("lengthText").text());
+        Assertions.assertEquals("1:00", results.index(2).get("compactVideoRenderer").get("lengthText").text());
+    }
+
+    @Test
+    public void testReadsTextOfOtherValues() throws IOException {
+        JsonBrowser json = JsonBrowser.parse("{\"a\":[{\"n\":12,\"b\":true,\"s\":null}]}");
+
+        Assertions.assertEquals("12", JsonPath.compile("a[0].n").text(json));
+        Assertions.assertEquals("true", JsonPath.compile("a[*].b").text(json));
+        Assertions.assertNull(JsonPath.compile("a[0].s").text(json));
+        Assertions.assertTrue(JsonPath.compile("a[0].s").get(json).isNull());
+    }
+
+    @Test
+    public void testRejectsMalformedPaths() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("contents[0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("contents[x]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("contents[-1]"));
+    }
+}
@@ -0,0 +1,235 @@
+import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.clients.Web;
+import dev.lavalink.youtube.json.JsonPath;
+import dev.lavalink.youtube.json.JsonSelection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JsonSelectionTest {
+    private static final JsonPath MIX_VIDEOS_PATH = JsonPath.compile("contents[*].playlistPanelVideoRenderer");
+
+    private static RecordedWeb client;
+    private static YoutubeAudioSourceManager source;
+
+    private static final String PLAYER_RESPONSE = "{"
+        + "\"responseContext\":{\"visitorData\":\"abc\"},"
+        + "\"playabilityStatus\":{\"status\":\"OK\"},"
+        + "\"streamingData\":{\"expiresInSeconds\":\"21540\",\"adaptiveFormats\":[{\"itag\":251,\"bitrate\":140000}]},"
+        + "\"videoDetails\":{\"videoId\":\"dQw4w9WgXcQ\",\"lengthSeconds\":\"212\",\"isLive\":false},"
+        + "\"storyboards\":{\"playerStoryboardSpecRenderer\":{\"spec\":\"...\"}},"
+        + "\"microformat\":{\"playerMicroformatRenderer\":{\"title\":{\"simpleText\":\"x\"}}}"
+        + "}";
+
+    @Test
+    public void testKeepsSelectedTopLevelKeys() throws IOException {
+        JsonBrowser json = JsonSelection.builder()
+            .keep("playabilityStatus")
+            .keep("videoDetails")
+            .keep("streamingData")
+            .build()
+            .read(new ByteArrayInputStream(PLAYER_RESPONSE.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("OK", json.get("playabilityStatus").get("status").text());
+        Assertions.assertEquals("dQw4w9WgXcQ", json.get("videoDetails").get("videoId").text());
+        Assertions.assertFalse(json.get("videoDetails").get("isLive").asBoolean(true));
+        Assertions.assertEquals(251, json.get("streamingData").get("adaptiveFormats").index(0).get("itag").asLong(-1));
+        Assertions.assertTrue(json.get("responseContext").isNull());
+        Assertions.assertTrue(json.get("storyboards").isNull());
+        Assertions.assertTrue(json.get("microformat").isNull());
+    }
+
+    @Test
+    public void testAppliesPathsThroughArraysAndWildcards() throws IOException {
+        String next = "{\"contents\":{\"twoColumnWatchNextResults\":{"
+            + "\"results\":{\"contents\":[{\"videoPrimaryInfoRenderer\":{}}]},"
+            + "\"playlist\":{\"playlist\":{\"contents\":[{\"playlistPanelVideoRenderer\":{\"videoId\":\"a\",\"trackingParams\":\"x\"}}]}},"
+            + "\"secondaryResults\":{\"secondaryResults\":{\"results\":[]}}"
+            + "}}}";
+
+        JsonBrowser json = JsonSelection.builder()
+            .keep("contents.*.playlist")
+            .skipKeys("trackingParams")
+            .build()
+            .read(next);
+
+        JsonBrowser results = json.get("contents").get("twoColumnWatchNextResults");
+        JsonBrowser video = results.get("playlist").get("playlist").get("contents").index(0).get("playlistPanelVideoRenderer");
+
+        Assertions.assertEquals("a", video.get("videoId").text());
+        Assertions.assertTrue(video.get("trackingParams").isNull());
+        Assertions.assertTrue(results.get("results").isNull());
+        Assertions.assertTrue(results.get("secondaryResults").isNull());
+    }
+
+    @Test
+    public void testShorterPathWins() throws IOException {
+        String json = "{\"a\":{\"b\":1,\"c\":2}}";
+
+        JsonBrowser narrowFirst = JsonSelection.builder().keep("a.b").keep("a").build().read(json);
+        JsonBrowser wideFirst = JsonSelection.builder().keep("a").keep("a.b").build().read(json);
+
+        Assertions.assertEquals(2, narrowFirst.get("a").get("c").asLong(-1));
+        Assertions.assertEquals(2, wideFirst.get("a").get("c").asLong(-1));
+    }
+
+    @BeforeAll
+    public static void setUpClient() {
+        client = new RecordedWeb();
+        source = new YoutubeAudioSourceManager(true, client);
+    }
+
+    @AfterAll
+    public static void tearDownClient() {
+        source.shutdown();
+    }
+
+    @Test
+    public void testRecordedPlayerResponse() throws IOException {
+        byte[] response = readRecorded("player");
+        JsonBrowser full = JsonBrowser.parse(new ByteArrayInputStream(response));
+        JsonBrowser selected = client.select(client.playerSelection(), response);
+
+        for (String key : new String[] { "playabilityStatus", "videoDetails", "streamingData" }) {
+            Assertions.assertEquals(full.get(key).format(), selected.get(key).format(), key);
+        }
+
+        Assertions.assertTrue(selected.get("responseContext").isNull());
+        Assertions.assertTrue(selected.get("microformat").isNull());
+    }
+
+    @Test
+    public void testRecordedSearchResponse() throws IOException {
+        byte[] response = readRecorded("search");
+        JsonBrowser full = JsonBrowser.parse(new ByteArrayInputStream(response));
+        JsonBrowser selected = client.select(client.searchSelection(), response);
+
+        List<String> tracks = describe(client.searchResults(full));
+
+        Assertions.assertFalse(tracks.isEmpty());
+        Assertions.assertEquals(tracks, describe(client.searchResults(selected)));
+    }
+
+    @Test
+    public void testRecordedPlaylistResponse() throws IOException {
+        byte[] response = readRecorded("playlist");
+        JsonBrowser full = JsonBrowser.parse(new ByteArrayInputStream(response));
+        JsonBrowser selected = client.select(client.browseSelection(), response);
+
+        Assertions.assertNotNull(client.playlistName(full));
+        Assertions.assertEquals(client.playlistName(full), client.playlistName(selected));
+        Assertions.assertEquals(client.playlistContinuation(full), client.playlistContinuation(selected));
+
+        List<String> tracks = describe(client.playlistTracks(full));
+
+        Assertions.assertFalse(tracks.isEmpty());
+        Assertions.assertEquals(tracks, describe(client.playlistTracks(selected)));
+    }
+
+    @Test
+    public void testRecordedMixResponse() throws IOException {
+        byte[] response = readRecorded("mix");
+        JsonBrowser full = JsonBrowser.parse(new ByteArrayInputStream(response));
+        JsonBrowser selected = client.select(client.mixSelection(), response);
+
+        Assertions.assertEquals(client.mixTitle(full), client.mixTitle(selected));
+
+        List<String> tracks = describe(client.mixTracks(full));
+
+        Assertions.assertFalse(tracks.isEmpty());
+        Assertions.assertEquals(tracks, describe(client.mixTracks(selected)));
+    }
+
+    private static byte[] readRecorded(String name) throws IOException {
+        InputStream input = JsonSelectionTest.class.getResourceAsStream("/responses/" + name + ".json");
+        Assumptions.assumeTrue(input != null, "No recorded " + name + " response, see ResponseRecorder");
+
+        try (InputStream stream = input) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+
+            return output.toByteArray();
+        }
+    }
+
+    private static List<String> describe(List<AudioTrack> tracks) {
+        return tracks.stream()
+            .map(AudioTrack::getInfo)
+            .map(JsonSelectionTest::describe)
+            .collect(Collectors.toList());
+    }
+
+    private static String describe(AudioTrackInfo info) {
+        return info.identifier + " " + info.title + " " + info.author + " " + info.length;
+    }
+
+    /**
+     * Reads recorded responses the way the web client reads them from the connection.
+     */
+    private static class RecordedWeb extends Web {
+        private JsonBrowser select(JsonSelection selection, byte[] response) throws IOException {
+            return selection.read(new ByteArrayInputStream(response));
+        }
+
+        private JsonSelection playerSelection() {
+            return getPlayerResponseSelection();
+        }
+
+        private JsonSelection searchSelection() {
+            return getSearchResponseSelection();
+        }
+
+        private JsonSelection browseSelection() {
+            return getBrowseResponseSelection();
+        }
+
+        private JsonSelection mixSelection() {
+            return getMixResponseSelection();
+        }
+
+        private List<AudioTrack> searchResults(JsonBrowser json) {
+            return extractSearchResults(source, json);
+        }
+
+        private String playlistName(JsonBrowser json) {
+            return extractPlaylistName(json);
+        }
+
+        private String playlistContinuation(JsonBrowser json) {
+            return extractPlaylistContinuationToken(extractPlaylistVideoList(json));
+        }
+
+        private List<AudioTrack> playlistTracks(JsonBrowser json) {
+            List<AudioTrack> tracks = new ArrayList<>();
+            extractPlaylistTracks(extractPlaylistVideoList(json), tracks, source);
+            return tracks;
+        }
+
+        private String mixTitle(JsonBrowser json) {
+            return extractMixPlaylistData(json).get("title").text();
+        }
+
+        private List<AudioTrack> mixTracks(JsonBrowser json) {
+            return extractAudioTracks(MIX_VIDEOS_PATH, extractMixPlaylistData(json), source);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import dev.lavalink.youtube.track.live.LiveSegmentFeed;
+import dev.lavalink.youtube.track.live.LiveSegmentHub;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LiveSegmentFeedTest {
+    @Test
+    public void testLoadsSegmentOnceForAllTracks() throws Exception {
+        LiveSegmentHub hub = new LiveSegmentHub();
+        LiveSegmentFeed feed = hub.acquire("video", "140");
+        AtomicInteger loads = new AtomicInteger();
+        LiveSegmentFeed.SegmentLoader loader = () -> {
+            loads.incrementAndGet();
+            return new byte[100];
+        };
+
+        feed.getSegment(1, loader);
+        feed.getSegment(1, loader);
+
+        Assertions.assertEquals(1, loads.get());
+        hub.release(feed);
+        Assertions.assertEquals(0, hub.getFeedCount());
+    }
+
+    @Test
+    public void testWaitingTrackRetriesWithOwnLoaderAfterFailure() throws Exception {
+        LiveSegmentFeed feed = new LiveSegmentHub().acquire("video", "140");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        CompletableFuture<byte[]> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.getSegment(1, () -> {
+                    loading.countDown();
+
+                    try {
+                        fail.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                    }
+
+                    throw new IOException("expired");
+                });
+            } catch (IOException | InterruptedException e) {
+                return null;
+            }
+        });
+
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<byte[]> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.getSegment(1, () -> new byte[100]);
+            } catch (IOException | InterruptedException e) {
+                return null;
+            }
+        });
+
+        // Let the second track start waiting for the first one's download.
+        Thread.sleep(100);
+        fail.countDown();
+
+        Assertions.assertNull(first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(100, second.get(5, TimeUnit.SECONDS).length);
+    }
+}
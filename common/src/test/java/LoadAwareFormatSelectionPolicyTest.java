@@ -0,0 +1,47 @@
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
+import dev.lavalink.youtube.track.format.LoadAwareFormatSelectionPolicy;
+import dev.lavalink.youtube.track.format.StreamFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadAwareFormatSelectionPolicyTest extends StreamFormatFixtures {
+    private final List<StreamFormat> formats = Arrays.asList(
+        format(OPUS, 249, 50_000),
+        format(OPUS, 251, 130_000),
+        format(OPUS, 250, 70_000),
+        format(AAC, 139, 48_000),
+        format(AAC, 140, 128_000)
+    );
+
+    @Test
+    public void testDownshiftsWithinSelectedCodecWithHysteresis() {
+        AtomicInteger load = new AtomicInteger();
+        LoadAwareFormatSelectionPolicy policy = new LoadAwareFormatSelectionPolicy(FormatSelectionPolicy.DEFAULT, load::get, 100, 80);
+
+        Assertions.assertEquals(251, policy.select(formats).getItag());
+
+        load.set(100);
+        Assertions.assertEquals(249, policy.select(formats).getItag());
+
+        // Below the high watermark, but not yet down to the low one.
+        load.set(90);
+        Assertions.assertEquals(249, policy.select(formats).getItag());
+
+        load.set(80);
+        Assertions.assertEquals(251, policy.select(formats).getItag());
+
+        // Above the low watermark again, but not up to the high one.
+        load.set(90);
+        Assertions.assertEquals(251, policy.select(formats).getItag());
+    }
+
+    @Test
+    public void testRejectsInvertedWatermarks() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new LoadAwareFormatSelectionPolicy(FormatSelectionPolicy.DEFAULT, () -> 0, 80, 100));
+    }
+}
@@ -0,0 +1,42 @@
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
+import dev.lavalink.youtube.track.format.StreamFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PassthroughFormatSelectionPolicyTest extends StreamFormatFixtures {
+    @Test
+    public void testPrefersStereoOpusOverHigherBitrateOpus() {
+        List<StreamFormat> formats = Arrays.asList(
+            format(OPUS, 251, 160_000, 1, false),
+            format(OPUS, 250, 70_000, 2, false),
+            format(AAC, 140, 128_000, 2, false)
+        );
+
+        Assertions.assertEquals(251, FormatSelectionPolicy.DEFAULT.select(formats).getItag());
+        Assertions.assertEquals(250, FormatSelectionPolicy.MINIMIZE_CPU.select(formats).getItag());
+    }
+
+    @Test
+    public void testPrefersNonDrcOverHigherBitrateDrc() {
+        List<StreamFormat> formats = Arrays.asList(
+            format(OPUS, 251, 135_000, 2, true),
+            format(OPUS, 251, 130_000, 2, false)
+        );
+
+        Assertions.assertTrue(FormatSelectionPolicy.DEFAULT.select(formats).isDrc());
+        Assertions.assertFalse(FormatSelectionPolicy.MINIMIZE_CPU.select(formats).isDrc());
+    }
+
+    @Test
+    public void testFallsBackToDefaultWithoutStereoOpus() {
+        List<StreamFormat> formats = Arrays.asList(
+            format(AAC, 139, 48_000, 2, false),
+            format(AAC, 140, 128_000, 2, false)
+        );
+
+        Assertions.assertEquals(140, FormatSelectionPolicy.MINIMIZE_CPU.select(formats).getItag());
+    }
+}
@@ -0,0 +1,41 @@
+import dev.lavalink.youtube.track.PlaybackFailover;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+
+public class PlaybackFailoverTest {
+    @Test
+    public void testResumesFromPositionOnCheckedException() {
+        PlaybackFailover failover = new PlaybackFailover(2, false);
+
+        Assertions.assertTrue(failover.onFailure(new SocketException("Connection reset"), 42000));
+        Assertions.assertEquals(42000, failover.getResumePosition());
+        Assertions.assertEquals(1, failover.getAttempts());
+
+        Assertions.assertTrue(failover.onFailure(new IOException("Premature end of Content-Length"), 84000));
+        Assertions.assertEquals(84000, failover.getResumePosition());
+
+        // out of attempts, the last position to resume from is kept.
+        Assertions.assertFalse(failover.onFailure(new IOException("Connection reset"), 90000));
+        Assertions.assertEquals(84000, failover.getResumePosition());
+    }
+
+    @Test
+    public void testOnlyFailsOverStreamFailuresDuringPlayback() {
+        PlaybackFailover failover = new PlaybackFailover(2, false);
+
+        Assertions.assertFalse(failover.onFailure(new IOException("Connection reset"), 0));
+        Assertions.assertFalse(failover.onFailure(new IllegalStateException("Unsupported format"), 42000));
+        Assertions.assertTrue(failover.onFailure(new RuntimeException(new IllegalStateException("Not success status code: 403")), 42000));
+    }
+
+    @Test
+    public void testLivestreamsResumeFromLiveEdge() {
+        PlaybackFailover failover = new PlaybackFailover(1, true);
+
+        Assertions.assertTrue(failover.onFailure(new IOException("Connection reset"), 42000));
+        Assertions.assertEquals(0, failover.getResumePosition());
+    }
+}
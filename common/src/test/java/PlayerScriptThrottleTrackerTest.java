@@ -0,0 +1,31 @@
+import dev.lavalink.youtube.track.PlayerScriptThrottleTracker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PlayerScriptThrottleTrackerTest {
+    private static final String SCRIPT = "/s/player/abcdef12/player_ias.vflset/en_US/base.js";
+
+    @Test
+    public void testRequiresSeveralDistinctStreams() {
+        PlayerScriptThrottleTracker tracker = new PlayerScriptThrottleTracker();
+
+        Assertions.assertFalse(tracker.markThrottled(SCRIPT, "a:251", false));
+        // The same stream reporting again is not corroboration.
+        Assertions.assertFalse(tracker.markThrottled(SCRIPT, "a:251", false));
+        Assertions.assertFalse(tracker.markThrottled(SCRIPT, "b:251", false));
+        Assertions.assertFalse(tracker.isThrottling(SCRIPT));
+
+        Assertions.assertTrue(tracker.markThrottled(SCRIPT, "c:140", false));
+        Assertions.assertTrue(tracker.isThrottling(SCRIPT));
+        Assertions.assertTrue(tracker.markThrottled(SCRIPT, "a:251", false));
+    }
+
+    @Test
+    public void testTransformFailureIsEnough() {
+        PlayerScriptThrottleTracker tracker = new PlayerScriptThrottleTracker();
+
+        Assertions.assertTrue(tracker.markThrottled(SCRIPT, "a:251", true));
+        Assertions.assertTrue(tracker.isThrottling(SCRIPT));
+        Assertions.assertEquals(1, (int) tracker.getThrottledCounts().get(SCRIPT));
+    }
+}
@@ -0,0 +1,28 @@
+import dev.lavalink.youtube.http.RequestCancellation;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RequestCancellationTest {
+    @Test
+    public void testAbortsRequestInFlight() {
+        RequestCancellation cancellation = new RequestCancellation();
+        HttpGet request = new HttpGet("https://www.youtube.com/youtubei/v1/player");
+
+        cancellation.track(request);
+        Assertions.assertFalse(request.isAborted());
+
+        cancellation.cancel();
+        Assertions.assertTrue(request.isAborted());
+    }
+
+    @Test
+    public void testAbortsRequestsAfterCancel() {
+        RequestCancellation cancellation = new RequestCancellation();
+        cancellation.cancel();
+
+        HttpGet request = new HttpGet("https://www.youtube.com/youtubei/v1/next");
+        cancellation.track(request);
+        Assertions.assertTrue(request.isAborted());
+    }
+}
@@ -0,0 +1,83 @@
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.clients.Web;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the innertube responses that the JSON tests and benchmarks read, by loading a video, a search, a
+ * playlist and a mix with the web client and saving the first response of each endpoint as it comes off the
+ * connection. Run with {@code ./gradlew :common:recordResponses --args="<video id> <playlist id> [search query]"}.
+ * Responses that were already recorded are kept, delete them to record them again.
+ */
+public class ResponseRecorder {
+    // Innertube endpoint, file name of its response.
+    private static final Map<String, String> RESPONSES = new LinkedHashMap<>();
+
+    static {
+        RESPONSES.put("/youtubei/v1/player", "player");
+        RESPONSES.put("/youtubei/v1/search", "search");
+        RESPONSES.put("/youtubei/v1/browse", "playlist");
+        RESPONSES.put("/youtubei/v1/next", "mix");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResponseRecorder <video id> <playlist id> [search query]");
+            System.exit(1);
+        }
+
+        String videoId = args[0];
+        Path directory = Paths.get(System.getProperty("responses.directory", "src/test/resources/responses"));
+        Files.createDirectories(directory);
+
+        AudioPlayerManager manager = new DefaultAudioPlayerManager();
+        YoutubeAudioSourceManager source = new YoutubeAudioSourceManager(true, new Web());
+
+        source.getHttpInterfaceManager().configureBuilder(builder -> builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+            String uri = HttpClientContext.adapt(context).getRequest().getRequestLine().getUri();
+
+            for (Map.Entry<String, String> endpoint : RESPONSES.entrySet()) {
+                Path file = directory.resolve(endpoint.getValue() + ".json");
+
+                if (uri.contains(endpoint.getKey()) && response.getEntity() != null && !Files.exists(file)) {
+                    BufferedHttpEntity entity = new BufferedHttpEntity(response.getEntity());
+                    response.setEntity(entity);
+                    Files.write(file, EntityUtils.toByteArray(entity));
+                    System.out.println("Recorded " + file);
+                }
+            }
+        }));
+
+        try {
+            String query = args.length > 2 ? args[2] : "lofi hip hop";
+            load(source, manager, "https://www.youtube.com/watch?v=" + videoId);
+            load(source, manager, "ytsearch:" + query);
+            load(source, manager, "https://www.youtube.com/playlist?list=" + args[1]);
+            load(source, manager, "https://www.youtube.com/watch?v=" + videoId + "&list=RD" + videoId);
+        } finally {
+            source.shutdown();
+            manager.shutdown();
+        }
+    }
+
+    private static void load(YoutubeAudioSourceManager source, AudioPlayerManager manager, String identifier) {
+        try {
+            System.out.println("Loaded " + identifier + ": " + source.loadItem(manager, new AudioReference(identifier, null)));
+        } catch (RuntimeException e) {
+            // The response is recorded before the client reads it, a failure after that does not matter.
+            System.err.println("Failed to load " + identifier + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import dev.lavalink.youtube.track.live.SegmentPollScheduler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SegmentPollSchedulerTest {
+    private static final long TARGET_DURATION = 5000;
+
+    @Test
+    public void testUsesFixedRetriesWithoutTargetDuration() {
+        AtomicLong now = new AtomicLong(10_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(false, now::get);
+        scheduler.onSegment(0);
+
+        Assertions.assertEquals(50, scheduler.getRetryDelay(0));
+        Assertions.assertEquals(50, scheduler.getRetryDelay(5));
+        Assertions.assertEquals(10_400, scheduler.getDeadline(now.get()));
+    }
+
+    @Test
+    public void testWaitsUntilSegmentIsDue() {
+        AtomicLong now = new AtomicLong(10_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(false, now::get);
+        scheduler.onSegment(TARGET_DURATION);
+
+        now.addAndGet(1000);
+        Assertions.assertEquals(4000, scheduler.getRetryDelay(0));
+
+        // Once the segment is overdue, only the backoff applies.
+        now.addAndGet(10_000);
+        assertBetween(500, 1000, scheduler.getRetryDelay(0));
+    }
+
+    @Test
+    public void testBacksOffWithJitterUpToCap() {
+        AtomicLong now = new AtomicLong(10_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(false, now::get);
+        scheduler.onSegment(TARGET_DURATION);
+        now.addAndGet(TARGET_DURATION);
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(1000, 2000, scheduler.getRetryDelay(1));
+            assertBetween(1250, 2500, scheduler.getRetryDelay(2));
+            assertBetween(1250, 2500, scheduler.getRetryDelay(40));
+        }
+    }
+
+    @Test
+    public void testLowLatencyRetriesSooner() {
+        AtomicLong now = new AtomicLong(10_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(true, now::get);
+        scheduler.onSegment(TARGET_DURATION);
+        now.addAndGet(TARGET_DURATION);
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(125, 250, scheduler.getRetryDelay(0));
+            assertBetween(625, 1250, scheduler.getRetryDelay(40));
+        }
+    }
+
+    @Test
+    public void testDeadlineFollowsExpectedArrival() {
+        AtomicLong now = new AtomicLong(10_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(false, now::get);
+        scheduler.onSegment(TARGET_DURATION);
+
+        // Waiting before the segment is due counts from when it is due.
+        Assertions.assertEquals(20_000, scheduler.getDeadline(11_000));
+        // Waiting after that counts from the first empty response.
+        Assertions.assertEquals(23_000, scheduler.getDeadline(18_000));
+    }
+
+    @Test
+    public void testOnlyReportsSegmentsBehindLiveEdgeAsAvailable() {
+        AtomicLong now = new AtomicLong(100_000);
+        SegmentPollScheduler scheduler = new SegmentPollScheduler(false, now::get);
+        Assertions.assertFalse(scheduler.isAvailable(10));
+
+        // Received right after it was ingested, so the stream is at its live edge.
+        scheduler.onSegment(10, TARGET_DURATION, 99_000);
+        Assertions.assertTrue(scheduler.isAvailable(9));
+        Assertions.assertTrue(scheduler.isAvailable(10));
+        Assertions.assertFalse(scheduler.isAvailable(11));
+
+        // Ingested a minute ago, so playback is far enough behind the edge for the next segments to exist.
+        scheduler.onSegment(10, TARGET_DURATION, 40_000);
+        Assertions.assertTrue(scheduler.isAvailable(11));
+        Assertions.assertTrue(scheduler.isAvailable(12));
+        Assertions.assertFalse(scheduler.isAvailable(22));
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        Assertions.assertTrue(actual >= min && actual <= max, actual + " is not between " + min + " and " + max);
+    }
+}
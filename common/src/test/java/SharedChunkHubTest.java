@@ -0,0 +1,100 @@
+import dev.lavalink.youtube.track.SharedChunkFeed;
+import dev.lavalink.youtube.track.SharedChunkHub;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SharedChunkHubTest {
+    @Test
+    public void testLoadsChunkOnceForAllReaders() throws Exception {
+        SharedChunkHub hub = new SharedChunkHub(1024);
+        AtomicInteger loads = new AtomicInteger();
+        SharedChunkFeed.ChunkLoader loader = () -> {
+            loads.incrementAndGet();
+            return new byte[100];
+        };
+
+        try (SharedChunkFeed.Reader first = hub.open("video", 251, 1000);
+             SharedChunkFeed.Reader second = hub.open("video", 251, 1000)) {
+            first.getChunk(0, loader);
+            second.getChunk(0, loader);
+
+            Assertions.assertEquals(1, loads.get());
+            Assertions.assertEquals(1, hub.getFeedCount());
+            Assertions.assertEquals(100, hub.getUsedBytes());
+        }
+
+        Assertions.assertEquals(0, hub.getFeedCount());
+        Assertions.assertEquals(0, hub.getUsedBytes());
+    }
+
+    @Test
+    public void testFreesChunksAllReadersPassed() throws Exception {
+        SharedChunkHub hub = new SharedChunkHub(1024);
+
+        try (SharedChunkFeed.Reader first = hub.open("video", 251, 1000);
+             SharedChunkFeed.Reader second = hub.open("video", 251, 1000)) {
+            first.getChunk(0, () -> new byte[100]);
+            first.getChunk(1, () -> new byte[100]);
+            Assertions.assertEquals(200, hub.getUsedBytes());
+
+            second.getChunk(1, () -> new byte[100]);
+            Assertions.assertEquals(100, hub.getUsedBytes());
+        }
+    }
+
+    @Test
+    public void testReportsSharingOnlyWithOtherReaders() throws Exception {
+        SharedChunkHub hub = new SharedChunkHub(1024);
+
+        try (SharedChunkFeed.Reader first = hub.open("video", 251, 1000)) {
+            Assertions.assertFalse(first.moveTo(0));
+
+            try (SharedChunkFeed.Reader second = hub.open("video", 251, 1000)) {
+                Assertions.assertTrue(first.moveTo(1));
+                second.getChunk(0, () -> new byte[100]);
+                second.getChunk(1, () -> new byte[100]);
+
+                // The first reader is on chunk 1 without having loaded it, so chunk 0 is no longer needed.
+                Assertions.assertEquals(100, hub.getUsedBytes());
+            }
+
+            Assertions.assertFalse(first.moveTo(2));
+        }
+    }
+
+    @Test
+    public void testDoesNotKeepChunksOverLimit() throws Exception {
+        SharedChunkHub hub = new SharedChunkHub(150);
+        AtomicInteger loads = new AtomicInteger();
+        SharedChunkFeed.ChunkLoader loader = () -> {
+            loads.incrementAndGet();
+            return new byte[100];
+        };
+
+        try (SharedChunkFeed.Reader first = hub.open("video", 251, 1000);
+             SharedChunkFeed.Reader second = hub.open("video", 251, 1000)) {
+            first.getChunk(0, loader);
+            first.getChunk(1, loader);
+            second.getChunk(1, loader);
+
+            Assertions.assertEquals(3, loads.get());
+            Assertions.assertEquals(100, hub.getUsedBytes());
+        }
+    }
+
+    @Test
+    public void testRetriesWithOwnLoaderAfterFailure() throws Exception {
+        SharedChunkHub hub = new SharedChunkHub(1024);
+
+        try (SharedChunkFeed.Reader reader = hub.open("video", 251, 1000)) {
+            Assertions.assertThrows(IOException.class, () -> reader.getChunk(0, () -> {
+                throw new IOException("expired");
+            }));
+
+            Assertions.assertEquals(100, reader.getChunk(0, () -> new byte[100]).length);
+        }
+    }
+}
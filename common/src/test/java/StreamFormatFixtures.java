@@ -0,0 +1,18 @@
+import dev.lavalink.youtube.track.format.StreamFormat;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Formats for the format selection policy tests, which extend this class to use them.
+ */
+abstract class StreamFormatFixtures {
+    static final ContentType OPUS = ContentType.parse("audio/webm; codecs=\"opus\"");
+    static final ContentType AAC = ContentType.parse("audio/mp4; codecs=\"mp4a.40.2\"");
+
+    static StreamFormat format(ContentType type, int itag, long bitrate) {
+        return format(type, itag, bitrate, 2, false);
+    }
+
+    static StreamFormat format(ContentType type, int itag, long bitrate, long channels, boolean drc) {
+        return new StreamFormat(type, itag, bitrate, 1000, channels, "https://example.com/" + itag, null, null, null, true, drc);
+    }
+}
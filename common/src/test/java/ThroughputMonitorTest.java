@@ -0,0 +1,50 @@
+import dev.lavalink.youtube.track.ThroughputMonitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ThroughputMonitorTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testDetectsThrottledRate() {
+        List<Long> throttled = new ArrayList<>();
+        ThroughputMonitor monitor = new ThroughputMonitor(80_000, throttled::add);
+
+        for (int i = 0; i < 6; i++) {
+            monitor.record(20_000, SECOND);
+        }
+
+        Assertions.assertEquals(1, throttled.size());
+        Assertions.assertEquals(20_000, (long) throttled.get(0));
+    }
+
+    @Test
+    public void testIgnoresFastRate() {
+        List<Long> throttled = new ArrayList<>();
+        ThroughputMonitor monitor = new ThroughputMonitor(80_000, throttled::add);
+
+        for (int i = 0; i < 20; i++) {
+            monitor.record(2_000_000, SECOND);
+        }
+
+        Assertions.assertTrue(throttled.isEmpty());
+        Assertions.assertEquals(2_000_000, monitor.getLastBytesPerSecond());
+    }
+
+    @Test
+    public void testResetDiscardsPartialWindow() {
+        List<Long> throttled = new ArrayList<>();
+        ThroughputMonitor monitor = new ThroughputMonitor(80_000, throttled::add);
+
+        monitor.record(20_000, 4 * SECOND);
+        monitor.reset();
+        monitor.record(2_000_000, 4 * SECOND);
+
+        Assertions.assertTrue(throttled.isEmpty());
+        Assertions.assertEquals(-1, monitor.getLastBytesPerSecond());
+    }
+}
@@ -0,0 +1,104 @@
+import dev.lavalink.youtube.cache.TieredByteCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TieredByteCacheTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tiered-byte-cache");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSpillsLeastRecentlyUsedToDisk() throws IOException {
+        try (TieredByteCache cache = new TieredByteCache(8, directory, 8, ".bin", false)) {
+            cache.put("a", new byte[] { 1, 1, 1, 1 });
+            cache.put("b", new byte[] { 2, 2, 2, 2 });
+            cache.get("a");
+            cache.put("c", new byte[] { 3, 3, 3, 3 });
+
+            // "b" was the least recently used entry, so it moved to disk.
+            Assertions.assertTrue(Files.exists(directory.resolve("b.bin")));
+            Assertions.assertArrayEquals(new byte[] { 2, 2, 2, 2 }, cache.get("b"));
+            Assertions.assertArrayEquals(new byte[] { 1, 1, 1, 1 }, cache.get("a"));
+            Assertions.assertArrayEquals(new byte[] { 3, 3, 3, 3 }, cache.get("c"));
+        }
+
+        Assertions.assertFalse(Files.exists(directory.resolve("b.bin")));
+    }
+
+    @Test
+    public void testConcurrentPutsOfSpillingEntryAreCountedOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Nothing stays in memory, and the disk tier only fits two entries, so counting an entry twice would
+        // evict it right after it was written.
+        try (TieredByteCache cache = new TieredByteCache(0, directory, 8, ".bin", false)) {
+            for (int round = 0; round < 50; round++) {
+                String id = "entry" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> puts = new ArrayList<>();
+
+                for (int i = 0; i < 8; i++) {
+                    puts.add(executor.submit(() -> {
+                        start.await();
+                        cache.put(id, new byte[] { 1, 2, 3, 4 });
+                        return null;
+                    }));
+                }
+
+                start.countDown();
+
+                for (Future<?> put : puts) {
+                    put.get();
+                }
+
+                Assertions.assertArrayEquals(new byte[] { 1, 2, 3, 4 }, cache.get(id));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testKeepsPersistentEntriesAcrossInstances() throws IOException {
+        try (TieredByteCache cache = new TieredByteCache(4, directory, 4, ".bin", true)) {
+            cache.put("a", new byte[] { 1, 1, 1, 1 });
+            cache.put("b", new byte[] { 2, 2, 2, 2 });
+            // "a" is on disk, the disk tier is full, so "b" replaces it there.
+            cache.put("c", new byte[] { 3, 3, 3, 3 });
+            Assertions.assertNull(cache.get("a"));
+        }
+
+        // "c" was written to disk on close, replacing "b".
+        try (TieredByteCache cache = new TieredByteCache(4, directory, 4, ".bin", true)) {
+            Assertions.assertArrayEquals(new byte[] { 3, 3, 3, 3 }, cache.get("c"));
+            Assertions.assertNull(cache.get("b"));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package dev.lavalink.youtube.plugin;
+
+import dev.lavalink.youtube.plugin.rest.RestException;
+import dev.lavalink.youtube.polyfill.DaemonThreadFactory;
+import dev.lavalink.youtube.polyfill.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves REST streams without holding servlet threads. Formats are resolved on a dedicated executor, and data is
+ * only copied while the client is able to accept it (servlet non-blocking I/O), so a slow consumer does not hold
+ * any thread while it catches up. The number of concurrent streams is limited, requests over the limit are
+ * rejected with 503.
+ */
+@Component
+public class AsyncStreamProxy {
+    private static final Logger log = LoggerFactory.getLogger(AsyncStreamProxy.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final int maxConcurrentStreams;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public AsyncStreamProxy(final YoutubeConfig youtubeConfig) {
+        this.maxConcurrentStreams = Math.max(1, youtubeConfig.getRest().getMaxConcurrentStreams());
+        this.permits = new Semaphore(maxConcurrentStreams);
+        this.executor = createExecutor(maxConcurrentStreams);
+    }
+
+    /**
+     * Resolves and sends a stream asynchronously, the request is handed over to the executor right away.
+     * @param resolver Resolves the response, run on the executor. A {@link RestException} is sent with its status.
+     */
+    public void serve(HttpServletRequest request,
+                      HttpServletResponse response,
+                      Callable<ResponseEntity<StreamSource>> resolver) {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent streams, try again later.");
+        }
+
+        try {
+            AsyncContext context = request.startAsync();
+            // Streams last as long as the track, the pump ends them.
+            context.setTimeout(0);
+            executor.execute(() -> resolveAndSend(context, response, resolver));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of streams currently being resolved or sent.
+     */
+    public int getActiveStreams() {
+        return maxConcurrentStreams - permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void resolveAndSend(AsyncContext context,
+                                HttpServletResponse response,
+                                Callable<ResponseEntity<StreamSource>> resolver) {
+        ResponseEntity<StreamSource> entity;
+
+        try {
+            entity = resolver.call();
+        } catch (Throwable t) {
+            sendError(context, response, t);
+            return;
+        }
+
+        StreamSource source = entity.getBody();
+        StreamPump pump = new StreamPump(context, source);
+
+        try {
+            response.setStatus(entity.getStatusCode().value());
+            entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+
+            if (source == null) {
+                pump.finish(null);
+                return;
+            }
+
+            pump.start(response.getOutputStream());
+        } catch (Throwable t) {
+            pump.finish(t);
+        }
+    }
+
+    private void sendError(AsyncContext context, HttpServletResponse response, Throwable error) {
+        try {
+            if (error instanceof RestException) {
+                RestException restException = (RestException) error;
+                response.sendError(restException.getHttpStatus().value(), restException.getMessage());
+            } else {
+                log.error("Failed to resolve REST stream", error);
+                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), error.getMessage());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Failed to send REST stream error", e);
+        } finally {
+            permits.release();
+            context.complete();
+        }
+    }
+
+    private static ExecutorService createExecutor(int maxThreads) {
+        // Virtual threads need Java 21 and newer. The executor is bounded by the permits either way.
+        ExecutorService virtual = VirtualThreads.newThreadPerTaskExecutor();
+
+        if (virtual != null) {
+            return virtual;
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new DaemonThreadFactory("youtube-rest-stream"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Copies the stream to the response whenever the response can take more data. Only one copy task runs at a
+     * time: the next one is only started by {@link #onWritePossible()}, which the container calls once after
+     * {@link ServletOutputStream#isReady()} returned false.
+     */
+    private class StreamPump implements WriteListener {
+        private final AsyncContext context;
+        private final StreamSource source;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        private ServletOutputStream output;
+
+        private StreamPump(AsyncContext context, StreamSource source) {
+            this.context = context;
+            this.source = source;
+        }
+
+        private void start(ServletOutputStream output) {
+            this.output = output;
+            output.setWriteListener(this);
+        }
+
+        @Override
+        public void onWritePossible() {
+            executor.execute(this::pump);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            finish(t);
+        }
+
+        private void pump() {
+            try {
+                while (output.isReady()) {
+                    int read = source.read(buffer);
+
+                    if (read == -1) {
+                        finish(null);
+                        return;
+                    }
+
+                    output.write(buffer, 0, read);
+                }
+            } catch (Throwable t) {
+                finish(t);
+            }
+        }
+
+        private void finish(Throwable error) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (error != null) {
+                // Usually the client going away.
+                log.debug("REST stream ended early", error);
+            }
+
+            if (source != null) {
+                source.close();
+            }
+
+            permits.release();
+            context.complete();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.lavalink.youtube.plugin;
+
+public class FormatDownshift {
+    private String load = "playingTracks";
+    // null to use the default for the configured load.
+    private Double highWatermark;
+    private Double lowWatermark;
+
+    public String getLoad() {
+        return load;
+    }
+
+    public Double getHighWatermark() {
+        return highWatermark;
+    }
+
+    public Double getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public void setLoad(String load) {
+        this.load = load;
+    }
+
+    public void setHighWatermark(Double highWatermark) {
+        this.highWatermark = highWatermark;
+    }
+
+    public void setLowWatermark(Double lowWatermark) {
+        this.lowWatermark = lowWatermark;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.lavalink.youtube.plugin;
+
+import dev.lavalink.youtube.polyfill.DaemonThreadFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the resolution of batched REST requests. Its thread count is the number of videos resolved at once on this
+ * node, across all batch requests.
+ */
+@Component
+public class ResolveExecutor {
+    private final ExecutorService executor;
+
+    public ResolveExecutor(final YoutubeConfig youtubeConfig) {
+        int maxConcurrentResolves = Math.max(1, youtubeConfig.getRest().getMaxConcurrentResolves());
+        this.executor = Executors.newFixedThreadPool(maxConcurrentResolves, new DaemonThreadFactory("youtube-rest-resolve"));
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
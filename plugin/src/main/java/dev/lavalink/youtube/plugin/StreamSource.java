@@ -0,0 +1,44 @@
+package dev.lavalink.youtube.plugin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The body of a proxied stream, at most {@code length} bytes of the input. Closing it also closes the resources
+ * the input depends on.
+ */
+public class StreamSource implements Closeable {
+    private final InputStream input;
+    private final Closeable[] resources;
+    private long remaining;
+
+    public StreamSource(InputStream input, long length, Closeable... resources) {
+        this.input = input;
+        this.remaining = length;
+        this.resources = resources;
+    }
+
+    /**
+     * @return The number of bytes read, or -1 once the body is complete.
+     */
+    public int read(byte[] buffer) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+
+        int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+        if (read > 0) {
+            remaining -= read;
+        }
+
+        return read;
+    }
+
+    @Override
+    public void close() {
+        IOUtils.closeQuietly(input);
+        IOUtils.closeQuietly(resources);
+    }
+}
@@ -20,6 +20,10 @@ public class YoutubeConfig {
     private Map<String, ClientOptions> clientOptions = new HashMap<>();
     private YoutubeOauthConfig oauth = null;
     private String proxyURI;
+    private String formatSelection = "default";
+    private FormatDownshift formatDownshift = null;
+    private YoutubeRestConfig rest = new YoutubeRestConfig();
+    private boolean virtualThreads = false;
 
     public boolean getEnabled() {
         return enabled;
@@ -92,4 +96,36 @@ public class YoutubeConfig {
     public void setProxyURI(String proxyURI) {
         this.proxyURI = proxyURI;
     }
+
+    public String getFormatSelection() {
+        return formatSelection;
+    }
+
+    public void setFormatSelection(String formatSelection) {
+        this.formatSelection = formatSelection;
+    }
+
+    public FormatDownshift getFormatDownshift() {
+        return formatDownshift;
+    }
+
+    public void setFormatDownshift(FormatDownshift formatDownshift) {
+        this.formatDownshift = formatDownshift;
+    }
+
+    public YoutubeRestConfig getRest() {
+        return rest;
+    }
+
+    public void setRest(YoutubeRestConfig rest) {
+        this.rest = rest;
+    }
+
+    public boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
 }
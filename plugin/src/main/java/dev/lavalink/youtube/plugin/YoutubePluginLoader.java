@@ -9,19 +9,24 @@ import com.sedmelluq.lava.extensions.youtuberotator.tools.ip.Ipv6Block;
 import dev.arbjerg.lavalink.api.AudioPlayerManagerConfiguration;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
 import dev.lavalink.youtube.YoutubeSource;
+import dev.lavalink.youtube.YoutubeSourceOptions;
 import dev.lavalink.youtube.clients.ClientOptions;
 import dev.lavalink.youtube.clients.skeleton.Client;
+import dev.lavalink.youtube.track.format.FormatSelectionPolicy;
 import lavalink.server.config.RateLimitConfig;
 import lavalink.server.config.ServerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.util.*;
+import java.util.function.DoubleSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -87,6 +92,70 @@ public class YoutubePluginLoader implements AudioPlayerManagerConfiguration {
         return clientOptions.get(clientName);
     }
 
+    private FormatSelectionPolicy getFormatSelectionPolicy() {
+        final String name = youtubeConfig != null ? youtubeConfig.getFormatSelection() : null;
+
+        if (name == null) {
+            return FormatSelectionPolicy.DEFAULT;
+        }
+
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "default":
+                return FormatSelectionPolicy.DEFAULT;
+            case "minimizecpu":
+                return FormatSelectionPolicy.MINIMIZE_CPU;
+            default:
+                log.warn("Unknown formatSelection '{}', the default format selection will be used.", name);
+                return FormatSelectionPolicy.DEFAULT;
+        }
+    }
+
+    private void applyFormatDownshift(YoutubeSourceOptions options) {
+        final FormatDownshift downshift = youtubeConfig != null ? youtubeConfig.getFormatDownshift() : null;
+
+        if (downshift == null) {
+            return;
+        }
+
+        final String load = downshift.getLoad() != null ? downshift.getLoad() : "playingTracks";
+        final DoubleSupplier loadSupplier;
+        final double defaultHighWatermark;
+
+        switch (load.toLowerCase(Locale.ROOT)) {
+            case "playingtracks":
+                // null makes the source count its own playing tracks.
+                loadSupplier = null;
+                defaultHighWatermark = 400;
+                break;
+            case "systemload":
+                final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+                // load average per core, roughly 1.0 when all cores are busy. negative if unavailable on this OS.
+                loadSupplier = () -> os.getSystemLoadAverage() / os.getAvailableProcessors();
+                defaultHighWatermark = 0.9;
+                break;
+            default:
+                log.warn("Unknown formatDownshift.load '{}', format downshifting will not be enabled.", load);
+                return;
+        }
+
+        final double highWatermark = downshift.getHighWatermark() != null ? downshift.getHighWatermark() : defaultHighWatermark;
+        final double lowWatermark = downshift.getLowWatermark() != null ? downshift.getLowWatermark() : highWatermark * 0.75;
+
+        if (highWatermark <= 0 || lowWatermark <= 0) {
+            // a watermark of 0 would keep every track downshifted, even on an idle node.
+            log.warn("formatDownshift watermarks must be positive (high: {}, low: {}), format downshifting will not be enabled.",
+                highWatermark, lowWatermark);
+            return;
+        }
+
+        try {
+            options.setFormatDownshift(loadSupplier, highWatermark, lowWatermark);
+            log.info("Format downshifting enabled with load '{}', high watermark: {}, low watermark: {}", load, highWatermark, lowWatermark);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid formatDownshift config, format downshifting will not be enabled: {}", e.getMessage());
+        }
+    }
+
     private IpBlock getIpBlock(String cidr) {
         if (Ipv4Block.isIpv4CidrBlock(cidr)) {
             return new Ipv4Block(cidr);
@@ -151,10 +220,18 @@ public class YoutubePluginLoader implements AudioPlayerManagerConfiguration {
         final boolean allowSearch = youtubeConfig == null || youtubeConfig.getAllowSearch();
         final boolean allowDirectVideoIds = youtubeConfig == null || youtubeConfig.getAllowDirectVideoIds();
         final boolean allowDirectPlaylistIds = youtubeConfig == null || youtubeConfig.getAllowDirectPlaylistIds();
+        final YoutubeSourceOptions options = new YoutubeSourceOptions()
+            .setAllowSearch(allowSearch)
+            .setAllowDirectVideoIds(allowDirectVideoIds)
+            .setAllowDirectPlaylistIds(allowDirectPlaylistIds)
+            .setFormatSelectionPolicy(getFormatSelectionPolicy())
+            .setVirtualThreads(youtubeConfig != null && youtubeConfig.getVirtualThreads());
+
+        applyFormatDownshift(options);
 
         if (clientProvider == null) {
             log.warn("ClientProvider instance is missing. The YouTube source will be initialised with default clients.");
-            source = new YoutubeAudioSourceManager(allowSearch, allowDirectVideoIds, allowDirectPlaylistIds);
+            source = new YoutubeAudioSourceManager(options);
         } else {
             String[] clients;
 
@@ -178,7 +255,7 @@ public class YoutubePluginLoader implements AudioPlayerManagerConfiguration {
                 }
             }
 
-            source = new YoutubeAudioSourceManager(allowSearch, allowDirectVideoIds, allowDirectPlaylistIds, clientProvider.getClients(clients, this::getOptionsForClient));
+            source = new YoutubeAudioSourceManager(options, clientProvider.getClients(clients, this::getOptionsForClient));
         }
 
         log.info("YouTube source initialised with clients: {} ", Arrays.stream(source.getClients()).map(Client::getIdentifier).collect(Collectors.joining(", ")));
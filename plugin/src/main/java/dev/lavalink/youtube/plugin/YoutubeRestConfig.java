@@ -0,0 +1,31 @@
+package dev.lavalink.youtube.plugin;
+
+public class YoutubeRestConfig {
+    private int maxConcurrentStreams = 32;
+    private int maxConcurrentResolves = 8;
+    private int maxBatchSize = 50;
+
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    public int getMaxConcurrentResolves() {
+        return maxConcurrentResolves;
+    }
+
+    public void setMaxConcurrentResolves(int maxConcurrentResolves) {
+        this.maxConcurrentResolves = maxConcurrentResolves;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -11,22 +11,35 @@ import dev.lavalink.youtube.clients.WebEmbedded;
 import dev.lavalink.youtube.clients.skeleton.Client;
 import dev.lavalink.youtube.plugin.rest.MinimalConfigRequest;
 import dev.lavalink.youtube.plugin.rest.MinimalConfigResponse;
+import dev.lavalink.youtube.plugin.rest.ResolveRequest;
+import dev.lavalink.youtube.plugin.rest.ResolvedStream;
 import dev.lavalink.youtube.plugin.rest.RestException;
+import dev.lavalink.youtube.plugin.rest.StreamRange;
 import dev.lavalink.youtube.track.YoutubePersistentHttpStream;
 import dev.lavalink.youtube.track.format.StreamFormat;
 import dev.lavalink.youtube.track.format.TrackFormats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.sedmelluq.discord.lavaplayer.tools.Units.CONTENT_LENGTH_UNKNOWN;
 
 @Service
 @RestController
@@ -34,9 +47,18 @@ public class YoutubeRestHandler {
     private static final Logger log = LoggerFactory.getLogger(YoutubeRestHandler.class);
 
     private final AudioPlayerManager playerManager;
-
-    public YoutubeRestHandler(AudioPlayerManager playerManager) {
+    private final YoutubeConfig youtubeConfig;
+    private final AsyncStreamProxy streamProxy;
+    private final ResolveExecutor resolveExecutor;
+
+    public YoutubeRestHandler(AudioPlayerManager playerManager,
+                              YoutubeConfig youtubeConfig,
+                              AsyncStreamProxy streamProxy,
+                              ResolveExecutor resolveExecutor) {
         this.playerManager = playerManager;
+        this.youtubeConfig = youtubeConfig;
+        this.streamProxy = streamProxy;
+        this.resolveExecutor = resolveExecutor;
     }
 
     private YoutubeAudioSourceManager getYoutubeSource() {
@@ -50,16 +72,28 @@ public class YoutubeRestHandler {
     }
 
     @GetMapping("/youtube/stream/{videoId}")
-    public ResponseEntity<StreamingResponseBody> getYoutubeVideoStream(@PathVariable("videoId") String videoId,
-                                                                       @RequestParam(name = "itag", required = false) Integer itag,
-                                                                       @RequestParam(name = "withClient", required = false) String clientIdentifier) throws IOException {
+    public void getYoutubeVideoStream(@PathVariable("videoId") String videoId,
+                                      @RequestParam(name = "itag", required = false) Integer itag,
+                                      @RequestParam(name = "withClient", required = false) String clientIdentifier,
+                                      @RequestHeader(name = HttpHeaders.RANGE, required = false) String rangeHeader,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) {
         YoutubeAudioSourceManager source = getYoutubeSource();
-        Throwable lastException = null;
 
         if (Arrays.stream(source.getClients()).noneMatch(Client::supportsFormatLoading)) {
             throw new RestException(HttpStatus.BAD_REQUEST, "None of the registered clients supports format loading.");
         }
 
+        // Player requests and cipher work happen on the proxy's executor, not on the servlet thread.
+        streamProxy.serve(request, response, () -> resolveStream(source, videoId, itag, clientIdentifier, rangeHeader));
+    }
+
+    private ResponseEntity<StreamSource> resolveStream(YoutubeAudioSourceManager source,
+                                                       String videoId,
+                                                       Integer itag,
+                                                       String clientIdentifier,
+                                                       String rangeHeader) throws IOException {
+        Throwable lastException = null;
         boolean foundFormats = false;
 
         HttpInterface httpInterface = source.getInterface();
@@ -98,14 +132,7 @@ public class YoutubeRestHandler {
             }
 
             foundFormats = true;
-            StreamFormat selectedFormat;
-
-            if (itag == null) {
-                selectedFormat = formats.getBestFormat();
-            } else {
-                selectedFormat = formats.getFormats().stream().filter(fmt -> fmt.getItag() == itag).findFirst()
-                    .orElse(null);
-            }
+            StreamFormat selectedFormat = selectFormat(source, formats, itag);
 
             if (selectedFormat == null) {
                 log.debug("No suitable formats found. (Matching: {})", itag);
@@ -114,17 +141,31 @@ public class YoutubeRestHandler {
 
             log.debug("Selected format {} for {}", selectedFormat.getItag(), videoId);
 
-            URI transformed = selectedFormat.getUrl();
-            if (client.requirePlayerScript()) {
-                URI resolved = source.getCipherManager().resolveFormatUrl(httpInterface, formats.getPlayerScriptUrl(), selectedFormat);
-                transformed = client.transformPlaybackUri(selectedFormat.getUrl(), resolved);
+            URI transformed = resolvePlaybackUrl(source, httpInterface, client, formats, selectedFormat);
+
+            long contentLength = selectedFormat.getContentLength();
+            boolean rangesSupported = contentLength != CONTENT_LENGTH_UNKNOWN && YoutubePersistentHttpStream.supportsRanges(transformed);
+            StreamRange range = rangesSupported ? StreamRange.parse(rangeHeader, contentLength) : null;
+
+            if (range != null && !range.isSatisfiable()) {
+                IOUtils.closeQuietly(httpInterface);
+
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, range.getContentRange())
+                    .build();
             }
 
-            YoutubePersistentHttpStream httpStream = new YoutubePersistentHttpStream(httpInterface, transformed, selectedFormat.getContentLength());
+            YoutubePersistentHttpStream httpStream = new YoutubePersistentHttpStream(httpInterface, transformed, contentLength);
 
             boolean streamValidated = false;
 
             try {
+                if (range != null) {
+                    // Before the first connection, so that it is opened at the start of the range right away.
+                    httpStream.seek(range.getStart());
+                }
+
                 int statusCode = httpStream.checkStatusCode();
                 streamValidated = statusCode == 200;
 
@@ -145,21 +186,18 @@ public class YoutubeRestHandler {
                 continue;
             }
 
-            StreamingResponseBody buffer = (os) -> {
-              int bytesRead;
-              byte[] copy = new byte[1024];
+            long length = range != null ? range.getLength() : contentLength;
+            StreamSource body = new StreamSource(httpStream, length, httpInterface);
 
-              try (httpStream; httpInterface) {
-                  while ((bytesRead = httpStream.read(copy, 0, copy.length)) != -1) {
-                      os.write(copy, 0, bytesRead);
-                  }
-              }
-            };
+            ResponseEntity.BodyBuilder response = range != null
+                ? ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).header(HttpHeaders.CONTENT_RANGE, range.getContentRange())
+                : ResponseEntity.ok();
 
-            return ResponseEntity.ok()
-                .contentLength(selectedFormat.getContentLength())
+            return response
+                .header(HttpHeaders.ACCEPT_RANGES, rangesSupported ? "bytes" : "none")
+                .contentLength(length)
                 .contentType(MediaType.parseMediaType(selectedFormat.getType().getMimeType()))
-                .body(buffer);
+                .body(body);
         }
 
         IOUtils.closeQuietly(httpInterface);
@@ -175,6 +213,113 @@ public class YoutubeRestHandler {
         throw new RestException(HttpStatus.BAD_REQUEST, "Could not find formats for the requested videoId.");
     }
 
+    @PostMapping("/youtube/resolve")
+    public CompletableFuture<List<ResolvedStream>> resolveStreams(@RequestBody ResolveRequest request) {
+        YoutubeAudioSourceManager source = getYoutubeSource();
+        List<String> videoIds = request.getVideoIds();
+        int maxBatchSize = youtubeConfig.getRest().getMaxBatchSize();
+
+        // Thrown on the servlet thread, where only ResponseStatusException is sent with its status.
+        if (videoIds == null || videoIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No video IDs were given.");
+        }
+
+        if (videoIds.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBatchSize + " video IDs can be resolved at once.");
+        }
+
+        // Duplicate IDs are resolved once.
+        Map<String, CompletableFuture<ResolvedStream>> pending = new LinkedHashMap<>();
+
+        for (String videoId : videoIds) {
+            pending.computeIfAbsent(videoId, id -> resolveExecutor.submit(() ->
+                resolveStreamUrl(source, id, request.getItag(), request.getWithClient())));
+        }
+
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> videoIds.stream().map(id -> pending.get(id).join()).collect(Collectors.toList()));
+    }
+
+    private ResolvedStream resolveStreamUrl(YoutubeAudioSourceManager source,
+                                            String videoId,
+                                            Integer itag,
+                                            String clientIdentifier) {
+        boolean foundFormats = false;
+        Throwable lastException = null;
+
+        try (HttpInterface httpInterface = source.getInterface()) {
+            for (Client client : source.getClients()) {
+                if (!client.supportsFormatLoading() || (clientIdentifier != null && !client.getIdentifier().equalsIgnoreCase(clientIdentifier))) {
+                    continue;
+                }
+
+                httpInterface.getContext().setAttribute(Client.OAUTH_CLIENT_ATTRIBUTE, client.supportsOAuth());
+                TrackFormats formats;
+
+                try {
+                    formats = client.loadFormats(source, httpInterface, videoId);
+                } catch (CannotBeLoaded cbl) {
+                    return ResolvedStream.failure(videoId, "This video cannot be loaded. Reason: " + cbl.getCause().getMessage());
+                } catch (Throwable t) {
+                    log.debug("Client \"{}\" failed to resolve {}, trying next.", client.getIdentifier(), videoId, t);
+                    lastException = t;
+                    continue;
+                }
+
+                if (formats == null || formats.getFormats().isEmpty()) {
+                    continue;
+                }
+
+                foundFormats = true;
+                StreamFormat selectedFormat = selectFormat(source, formats, itag);
+
+                if (selectedFormat == null) {
+                    continue;
+                }
+
+                URI url = resolvePlaybackUrl(source, httpInterface, client, formats, selectedFormat);
+                return ResolvedStream.success(videoId, client.getIdentifier(), selectedFormat, url);
+            }
+        } catch (Throwable t) {
+            lastException = t;
+        }
+
+        if (foundFormats && lastException == null) {
+            return ResolvedStream.failure(videoId, "No formats found with the requested itag.");
+        }
+
+        if (lastException != null) {
+            log.debug("Failed to resolve {}", videoId, lastException);
+            return ResolvedStream.failure(videoId, "This video cannot be loaded: " + lastException.getMessage());
+        }
+
+        return ResolvedStream.failure(videoId, "Could not find formats for the requested videoId.");
+    }
+
+    private StreamFormat selectFormat(YoutubeAudioSourceManager source, TrackFormats formats, Integer itag) {
+        if (itag == null) {
+            return formats.getBestFormat(source.getFormatSelectionPolicy());
+        }
+
+        return formats.getFormats().stream().filter(fmt -> fmt.getItag() == itag).findFirst().orElse(null);
+    }
+
+    /**
+     * Deciphers the URL of a format, through the cipher manager's player script and cipher caches.
+     */
+    private URI resolvePlaybackUrl(YoutubeAudioSourceManager source,
+                                   HttpInterface httpInterface,
+                                   Client client,
+                                   TrackFormats formats,
+                                   StreamFormat format) throws IOException {
+        if (!client.requirePlayerScript()) {
+            return format.getUrl();
+        }
+
+        URI resolved = source.getCipherManager().resolveFormatUrl(httpInterface, formats.getPlayerScriptUrl(), format);
+        return client.transformPlaybackUri(format.getUrl(), resolved);
+    }
+
     @GetMapping("/youtube")
     public MinimalConfigResponse getYoutubeConfig() {
         return MinimalConfigResponse.from(getYoutubeSource());
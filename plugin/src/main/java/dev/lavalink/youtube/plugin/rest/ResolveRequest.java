@@ -0,0 +1,33 @@
+package dev.lavalink.youtube.plugin.rest;
+
+import java.util.List;
+
+public class ResolveRequest {
+    private List<String> videoIds;
+    private Integer itag = null;
+    private String withClient = null;
+
+    public List<String> getVideoIds() {
+        return this.videoIds;
+    }
+
+    public Integer getItag() {
+        return this.itag;
+    }
+
+    public String getWithClient() {
+        return this.withClient;
+    }
+
+    public void setVideoIds(List<String> videoIds) {
+        this.videoIds = videoIds;
+    }
+
+    public void setItag(Integer itag) {
+        this.itag = itag;
+    }
+
+    public void setWithClient(String withClient) {
+        this.withClient = withClient;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.lavalink.youtube.plugin.rest;
+
+import dev.lavalink.youtube.UrlTools;
+import dev.lavalink.youtube.track.format.StreamFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+
+import static com.sedmelluq.discord.lavaplayer.tools.Units.CONTENT_LENGTH_UNKNOWN;
+
+public class ResolvedStream {
+    @NotNull
+    public String videoId;
+    @Nullable
+    public String client;
+    @Nullable
+    public Integer itag;
+    @Nullable
+    public String mimeType;
+    /**
+     * The length of the format in bytes, null if unknown (as for livestreams).
+     */
+    @Nullable
+    public Long contentLength;
+    @Nullable
+    public String url;
+    /**
+     * Epoch milliseconds after which the URL is rejected, null if unknown.
+     */
+    @Nullable
+    public Long expiresAt;
+    /**
+     * Why the video could not be resolved, null on success.
+     */
+    @Nullable
+    public String error;
+
+    private ResolvedStream(@NotNull String videoId) {
+        this.videoId = videoId;
+    }
+
+    public static ResolvedStream success(@NotNull String videoId,
+                                         @NotNull String client,
+                                         @NotNull StreamFormat format,
+                                         @NotNull URI url) {
+        ResolvedStream stream = new ResolvedStream(videoId);
+        stream.client = client;
+        stream.itag = format.getItag();
+        stream.mimeType = format.getType().getMimeType();
+        stream.contentLength = format.getContentLength() == CONTENT_LENGTH_UNKNOWN ? null : format.getContentLength();
+        stream.url = url.toString();
+
+        String expire = UrlTools.getUrlInfo(stream.url, true).parameters.get("expire");
+
+        try {
+            stream.expiresAt = expire == null ? null : Long.parseLong(expire) * 1000;
+        } catch (NumberFormatException e) {
+            stream.expiresAt = null;
+        }
+
+        return stream;
+    }
+
+    public static ResolvedStream failure(@NotNull String videoId, @NotNull String error) {
+        ResolvedStream stream = new ResolvedStream(videoId);
+        stream.error = error;
+        return stream;
+    }
+}
@@ -3,15 +3,23 @@ package dev.lavalink.youtube.plugin.rest;
 import org.springframework.http.HttpStatus;
 
 public class RestException extends RuntimeException {
+    private final HttpStatus httpStatus;
+
     public RestException(String message) {
-        super(message);
+        this(HttpStatus.INTERNAL_SERVER_ERROR, message);
     }
 
     public RestException(HttpStatus httpStatus, String msg) {
         super(msg);
+        this.httpStatus = httpStatus;
     }
 
     public RestException(HttpStatus httpStatus, String msg, Throwable lastException) {
         super(msg);
+        this.httpStatus = httpStatus;
+    }
+
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
     }
 }
@@ -0,0 +1,101 @@
+package dev.lavalink.youtube.plugin.rest;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single byte range requested with the {@code Range} header of a stream request.
+ */
+public class StreamRange {
+    private final long start;
+    private final long end;
+    private final long contentLength;
+
+    private StreamRange(long start, long end, long contentLength) {
+        this.start = start;
+        this.end = end;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * @param header The value of the {@code Range} header.
+     * @param contentLength The length of the resource.
+     * @return The requested range, or null if the header is absent or should be ignored (malformed, other units
+     * or multiple ranges), in which case the whole resource is served.
+     */
+    @Nullable
+    public static StreamRange parse(@Nullable String header, long contentLength) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int separator = spec.indexOf('-');
+
+        if (spec.contains(",") || separator == -1) {
+            return null;
+        }
+
+        String first = spec.substring(0, separator).trim();
+        String last = spec.substring(separator + 1).trim();
+
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+
+                // Suffix range, the last N bytes.
+                long suffixLength = Long.parseLong(last);
+                return new StreamRange(Math.max(0, contentLength - suffixLength), contentLength - 1, contentLength);
+            }
+
+            long start = Long.parseLong(first);
+
+            if (last.isEmpty()) {
+                return new StreamRange(start, contentLength - 1, contentLength);
+            }
+
+            long end = Long.parseLong(last);
+
+            if (end < start) {
+                // Syntactically invalid, to be ignored rather than rejected.
+                return null;
+            }
+
+            return new StreamRange(start, Math.min(end, contentLength - 1), contentLength);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return False if the range starts past the end of the resource, which has to be answered with 416.
+     */
+    public boolean isSatisfiable() {
+        return start < contentLength && start <= end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The number of bytes in the range.
+     */
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return The value of the {@code Content-Range} header for the response.
+     */
+    @NotNull
+    public String getContentRange() {
+        if (!isSatisfiable()) {
+            return "bytes */" + contentLength;
+        }
+
+        return "bytes " + start + "-" + end + "/" + contentLength;
+    }
+}
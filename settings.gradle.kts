@@ -25,6 +25,7 @@ dependencyResolutionManagement {
             library("annotations", "org.jetbrains", "annotations").version("24.1.0")
 
             plugin("lavalink-gradle-plugin", "dev.arbjerg.lavalink.gradle-plugin").version("1.0.15")
+            plugin("jmh", "me.champeau.jmh").version("0.7.2")
 
             val mavenPublishPlugin = version("maven-publish-plugin", "0.25.3")
             plugin("maven-publish", "com.vanniktech.maven.publish").versionRef(mavenPublishPlugin)